@@ -0,0 +1,18 @@
+package com.financialtracker.analytics.config;
+
+import com.financialtracker.analytics.jfr.KafkaConsumeEvent;
+import com.financialtracker.common.jfr.FlightRecorderEvents;
+import com.financialtracker.common.jfr.KafkaSendEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public FlightRecorderEvents flightRecorderEvents() {
+        return new FlightRecorderEvents(List.of(KafkaConsumeEvent.class, KafkaSendEvent.class));
+    }
+}
@@ -1,17 +1,22 @@
 package com.financialtracker.analytics.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financialtracker.analytics.dto.BudgetDTO;
+import com.financialtracker.analytics.dto.CategoryBreakdown;
+import com.financialtracker.analytics.dto.Report;
+import com.financialtracker.analytics.dto.TrendData;
+import com.financialtracker.analytics.kafka.TransactionEvent;
+import com.financialtracker.common.jackson.JacksonWarmTypes;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class JacksonConfig {
-    
+
     @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper;
+    public JacksonWarmTypes jacksonWarmTypes() {
+        return new JacksonWarmTypes(List.of(
+                CategoryBreakdown.class, TrendData.class, Report.class, BudgetDTO.class, TransactionEvent.class));
     }
 }
@@ -0,0 +1,43 @@
+package com.financialtracker.analytics.config;
+
+import com.financialtracker.analytics.dto.BudgetDTO;
+import com.financialtracker.analytics.dto.CategoryBreakdown;
+import com.financialtracker.analytics.dto.CategoryPercentiles;
+import com.financialtracker.analytics.dto.Report;
+import com.financialtracker.analytics.dto.TrendData;
+import com.financialtracker.analytics.kafka.BudgetAlertEvent;
+import com.financialtracker.analytics.kafka.DashboardUpdateEvent;
+import com.financialtracker.analytics.kafka.TransactionEvent;
+import com.financialtracker.analytics.model.AnalyticsCache;
+import com.financialtracker.analytics.model.Budget;
+import com.financialtracker.analytics.model.BudgetAlert;
+import com.financialtracker.analytics.model.BudgetOffsetCheckpoint;
+import com.financialtracker.analytics.model.BudgetSpendCheckpoint;
+import com.financialtracker.analytics.model.SpendingAnomaly;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reflection hints for types bound by Jackson or the Mongo mapper outside of what AOT
+ * processing discovers on its own (e.g. Kafka payloads deserialized by hand).
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        CategoryBreakdown.class,
+        Report.class,
+        TrendData.class,
+        BudgetDTO.class,
+        CategoryPercentiles.class,
+        TransactionEvent.class,
+        BudgetAlertEvent.class,
+        DashboardUpdateEvent.class,
+        AnalyticsCache.class,
+        Budget.class,
+        BudgetAlert.class,
+        BudgetSpendCheckpoint.class,
+        BudgetSpendCheckpoint.Window.class,
+        BudgetOffsetCheckpoint.class,
+        SpendingAnomaly.class
+})
+public class NativeHintsConfig {
+}
@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/analytics")
 @RequiredArgsConstructor
@@ -31,6 +33,13 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getTrendData(userId, days));
     }
 
+    @GetMapping("/percentiles")
+    @Operation(summary = "Get median, p90 and p99 expense amounts per category")
+    public ResponseEntity<List<CategoryPercentiles>> getPercentiles(
+            @RequestHeader("X-User-Id") String userId) {
+        return ResponseEntity.ok(analyticsService.getPercentiles(userId));
+    }
+
     @GetMapping("/report")
     @Operation(summary = "Get financial report")
     public ResponseEntity<Report> getReport(
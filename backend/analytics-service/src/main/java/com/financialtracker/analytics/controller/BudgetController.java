@@ -0,0 +1,53 @@
+package com.financialtracker.analytics.controller;
+
+import com.financialtracker.analytics.dto.BudgetDTO;
+import com.financialtracker.analytics.model.BudgetAlert;
+import com.financialtracker.analytics.service.BudgetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics/budgets")
+@RequiredArgsConstructor
+@Tag(name = "Budgets", description = "Monthly category budgets and threshold alerts")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @GetMapping
+    @Operation(summary = "Get budgets with this month's spend")
+    public ResponseEntity<List<BudgetDTO>> getBudgets(@RequestHeader("X-User-Id") String userId) {
+        return ResponseEntity.ok(budgetService.getBudgets(userId));
+    }
+
+    @PutMapping("/{category}")
+    @Operation(summary = "Create or update the monthly budget of a category")
+    public ResponseEntity<BudgetDTO> setBudget(
+            @RequestHeader("X-User-Id") String userId,
+            @PathVariable String category,
+            @RequestBody BudgetDTO dto) {
+        return ResponseEntity.ok(budgetService.setBudget(userId, category, dto));
+    }
+
+    @DeleteMapping("/{category}")
+    @Operation(summary = "Delete the budget of a category")
+    public ResponseEntity<Void> deleteBudget(
+            @RequestHeader("X-User-Id") String userId,
+            @PathVariable String category) {
+        budgetService.deleteBudget(userId, category);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/alerts")
+    @Operation(summary = "Get recent budget alerts")
+    public ResponseEntity<List<BudgetAlert>> getAlerts(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(budgetService.getAlerts(userId, limit));
+    }
+}
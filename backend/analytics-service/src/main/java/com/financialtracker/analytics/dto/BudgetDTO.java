@@ -0,0 +1,18 @@
+package com.financialtracker.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+    private String category;
+    private Double monthlyLimit;
+    private List<Double> thresholds;
+    private Double spentThisMonth;
+    private Double remaining;
+}
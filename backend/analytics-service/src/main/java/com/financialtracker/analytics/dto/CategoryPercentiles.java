@@ -0,0 +1,16 @@
+package com.financialtracker.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryPercentiles {
+    private String category;
+    private Long count;
+    private Double median;
+    private Double p90;
+    private Double p99;
+}
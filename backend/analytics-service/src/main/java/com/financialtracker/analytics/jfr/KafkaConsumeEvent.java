@@ -0,0 +1,36 @@
+package com.financialtracker.analytics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("financialtracker.KafkaConsume")
+@Label("Kafka Consume")
+@Category({"Financial Tracker", "Kafka"})
+@Description("A Kafka listener processing one record")
+@StackTrace(false)
+public class KafkaConsumeEvent extends Event {
+
+    @Label("Consumer Group")
+    public String group;
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Partition")
+    public int partition;
+
+    @Label("Offset")
+    public long offset;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
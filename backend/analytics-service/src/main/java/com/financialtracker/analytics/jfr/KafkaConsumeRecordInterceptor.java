@@ -0,0 +1,62 @@
+package com.financialtracker.analytics.jfr;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@code @KafkaListener} invocation as a {@link KafkaConsumeEvent}. Spring Boot applies
+ * a single {@code RecordInterceptor} bean to the default listener container factory; the
+ * interceptor runs on the consumer thread, which also invokes the listener.
+ */
+@Component
+public class KafkaConsumeRecordInterceptor implements RecordInterceptor<Object, Object> {
+
+    private final ThreadLocal<KafkaConsumeEvent> current = new ThreadLocal<>();
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record,
+                                                    Consumer<Object, Object> consumer) {
+        KafkaConsumeEvent event = new KafkaConsumeEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            current.set(event);
+        }
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        complete(record, consumer, true);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<Object, Object> record, Exception exception,
+                        Consumer<Object, Object> consumer) {
+        complete(record, consumer, false);
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        current.remove();
+    }
+
+    private void complete(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer, boolean succeeded) {
+        KafkaConsumeEvent event = current.get();
+        current.remove();
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.group = consumer.groupMetadata().groupId();
+            event.topic = record.topic();
+            event.partition = record.partition();
+            event.offset = record.offset();
+            event.payloadBytes = record.serializedValueSize();
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.financialtracker.analytics.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertEvent {
+    private String alertId;
+    private String userId;
+    private String category;
+    private String month;
+    private Double threshold;
+    private Double monthlyLimit;
+    private Double spent;
+    private String transactionId;
+}
@@ -0,0 +1,64 @@
+package com.financialtracker.analytics.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.analytics.service.BudgetEvaluator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds transaction-events into the {@link BudgetEvaluator} under its own consumer group.
+ * Positions come from the evaluator's checkpoints rather than committed offsets, so the
+ * in-memory spend and the stream position always restart together.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetEventListener implements ConsumerSeekAware {
+
+    private final BudgetEvaluator budgetEvaluator;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // A fresh group replays the retained topic so spend is known before any budget exists
+    @KafkaListener(topics = BudgetEvaluator.TOPIC, groupId = "budget-evaluator",
+            properties = "auto.offset.reset=earliest")
+    public void onTransactionEvent(String message,
+                                   @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                   @Header(KafkaHeaders.OFFSET) long offset) {
+        try {
+            budgetEvaluator.onEvent(objectMapper.readValue(message, TransactionEvent.class), partition, offset);
+        } catch (JsonProcessingException e) {
+            meterRegistry.counter("kafka.consumer.failures", "topic", BudgetEvaluator.TOPIC).increment();
+            log.error("Error processing transaction event for budgets", e);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(tp -> {
+            Long offset = budgetEvaluator.restorePartition(tp.partition());
+            if (offset != null) {
+                callback.seek(tp.topic(), tp.partition(), offset + 1);
+            }
+        });
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        budgetEvaluator.releasePartitions(partitions.stream()
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.financialtracker.analytics.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change to a user's dashboard figures caused by one transaction event, pushed to connected
+ * clients by the gateway. Amount fields are signed deltas; {@code resync} asks the client to
+ * refetch because the change could not be expressed as a delta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardUpdateEvent {
+    private String userId;
+    private String transactionId;
+    private String eventType;
+    private double incomeDelta;
+    private double expenseDelta;
+    private long countDelta;
+    private Map<String, Double> incomeByCategory;
+    private Map<String, Double> expenseByCategory;
+    private List<String> dates; // transaction dates touched, for trend charts
+    private boolean resync;
+}
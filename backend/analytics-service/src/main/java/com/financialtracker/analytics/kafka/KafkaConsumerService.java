@@ -2,29 +2,100 @@ package com.financialtracker.analytics.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.common.jfr.KafkaSendEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaConsumerService {
 
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${dashboard.update-topic:dashboard-updates}")
+    private String updateTopic;
 
     @KafkaListener(topics = "transaction-events", groupId = "analytics-group")
-    public void consumeTransactionEvent(String message) {
+    public void consumeTransactionEvent(String message, @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
+        // Producer-to-consumer delay; Kafka client records-lag metrics cover the offset lag
+        meterRegistry.timer("kafka.consumer.lag", "topic", "transaction-events")
+                .record(Math.max(0, System.currentTimeMillis() - timestamp), TimeUnit.MILLISECONDS);
         try {
             TransactionEvent event = objectMapper.readValue(message, TransactionEvent.class);
             log.info("Received transaction event: {} for user {}", event.getEventType(), event.getUserId());
-            
-            // Here you would update analytics cache when transactions change
-            // For now, we just log the event
-            
+
+            DashboardUpdateEvent update = toUpdate(event);
+            String payload = objectMapper.writeValueAsString(update);
+            KafkaSendEvent sendEvent = KafkaSendEvent.start(updateTopic);
+            kafkaTemplate.send(updateTopic, update.getUserId(), payload).whenComplete(sendEvent::complete);
         } catch (JsonProcessingException e) {
+            meterRegistry.counter("kafka.consumer.failures", "topic", "transaction-events").increment();
             log.error("Error processing transaction event", e);
         }
     }
+
+    private static DashboardUpdateEvent toUpdate(TransactionEvent event) {
+        DashboardUpdateEvent update = new DashboardUpdateEvent(event.getUserId(), event.getTransactionId(),
+                event.getEventType(), 0, 0, 0, new HashMap<>(), new HashMap<>(), new ArrayList<>(), false);
+        switch (event.getEventType()) {
+            case "CREATED" -> {
+                apply(update, event.getType(), event.getCategory(), event.getAmount(), event.getDate(), 1);
+                update.setCountDelta(1);
+            }
+            case "DELETED" -> {
+                apply(update, event.getType(), event.getCategory(), event.getAmount(), event.getDate(), -1);
+                update.setCountDelta(-1);
+            }
+            case "UPDATED" -> {
+                if (event.getPreviousAmount() == null) {
+                    update.setResync(true);
+                } else {
+                    apply(update, event.getPreviousType(), event.getPreviousCategory(), event.getPreviousAmount(),
+                            event.getPreviousDate(), -1);
+                    apply(update, event.getType(), event.getCategory(), event.getAmount(), event.getDate(), 1);
+                }
+            }
+            default -> update.setResync(true);
+        }
+        return update;
+    }
+
+    private static void apply(DashboardUpdateEvent update, String type, String category, Double amount, String date,
+                              int sign) {
+        if (amount == null) {
+            update.setResync(true);
+            return;
+        }
+        double delta = sign * amount;
+        if ("INCOME".equals(type)) {
+            update.setIncomeDelta(update.getIncomeDelta() + delta);
+            if (category != null) {
+                update.getIncomeByCategory().merge(category, delta, Double::sum);
+            }
+        } else if ("EXPENSE".equals(type)) {
+            update.setExpenseDelta(update.getExpenseDelta() + delta);
+            if (category != null) {
+                update.getExpenseByCategory().merge(category, delta, Double::sum);
+            }
+        }
+        List<String> dates = update.getDates();
+        if (date != null && !dates.contains(date)) {
+            dates.add(date);
+        }
+    }
 }
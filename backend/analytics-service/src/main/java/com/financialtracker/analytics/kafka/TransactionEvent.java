@@ -15,4 +15,8 @@ public class TransactionEvent {
     private String category;
     private Double amount;
     private String date;
+    private String previousType;
+    private String previousCategory;
+    private Double previousAmount;
+    private String previousDate;
 }
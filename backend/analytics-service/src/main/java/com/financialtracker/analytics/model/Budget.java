@@ -0,0 +1,30 @@
+package com.financialtracker.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "budgets")
+@CompoundIndex(name = "user_category", def = "{'userId': 1, 'category': 1}", unique = true)
+public class Budget {
+    @Id
+    private String id;
+    private String userId;
+    private String category;
+    private Double monthlyLimit;
+    private List<Double> thresholds; // fractions of the limit, e.g. 0.8 and 1.0
+    // Deletes are soft so every instance picks them up through the updatedAt poll
+    private boolean active;
+    @Indexed
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.financialtracker.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "budget_alerts")
+@CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': -1}")
+public class BudgetAlert {
+    @Id
+    private String id;
+    private String userId;
+    private String category;
+    private String month; // yyyy-MM
+    private Double threshold;
+    private Double monthlyLimit;
+    private Double spent;
+    private String transactionId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.financialtracker.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "budget_offsets")
+public class BudgetOffsetCheckpoint {
+    @Id
+    private String id; // topic-partition
+    private String topic;
+    private int partition;
+    private long offset;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.financialtracker.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of one user's in-memory budget spend, written periodically by the evaluator.
+ * {@code lastOffset} is the last transaction-events offset folded into the snapshot, so
+ * records replayed after a restart are not counted twice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "budget_spend")
+public class BudgetSpendCheckpoint {
+    @Id
+    private String userId;
+    @Indexed
+    private int partition;
+    private long lastOffset;
+    private List<Window> windows;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Window {
+        private String month;
+        private String category;
+        private long spentCents;
+        private int crossedMask;
+        // SpendSketch of the month's expense amounts in the category
+        private int sketchOffset;
+        private int[] sketchCounts;
+        private long sketchZeroCount;
+    }
+}
@@ -0,0 +1,28 @@
+package com.financialtracker.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "spending_anomalies")
+@CompoundIndex(name = "user_detected", def = "{'userId': 1, 'detectedAt': -1}")
+public class SpendingAnomaly {
+    @Id
+    private String id;
+    private String userId;
+    private String transactionId;
+    private String category;
+    private Double amount;
+    private String date;
+    private Double percentile; // e.g. 0.99
+    private Double threshold; // the user's amount at that percentile when the charge arrived
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,13 @@
+package com.financialtracker.analytics.repository;
+
+import com.financialtracker.analytics.model.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends MongoRepository<BudgetAlert, String> {
+    List<BudgetAlert> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.financialtracker.analytics.repository;
+
+import com.financialtracker.analytics.model.BudgetOffsetCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BudgetOffsetCheckpointRepository extends MongoRepository<BudgetOffsetCheckpoint, String> {
+}
@@ -0,0 +1,16 @@
+package com.financialtracker.analytics.repository;
+
+import com.financialtracker.analytics.model.Budget;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends MongoRepository<Budget, String> {
+    List<Budget> findByUserIdAndActiveTrue(String userId);
+    Optional<Budget> findByUserIdAndCategory(String userId, String category);
+    List<Budget> findByUpdatedAtAfter(LocalDateTime updatedAt);
+}
@@ -0,0 +1,12 @@
+package com.financialtracker.analytics.repository;
+
+import com.financialtracker.analytics.model.BudgetSpendCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetSpendCheckpointRepository extends MongoRepository<BudgetSpendCheckpoint, String> {
+    List<BudgetSpendCheckpoint> findByPartition(int partition);
+}
@@ -0,0 +1,15 @@
+package com.financialtracker.analytics.repository;
+
+import com.financialtracker.analytics.model.SpendingAnomaly;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SpendingAnomalyRepository extends MongoRepository<SpendingAnomaly, String> {
+    List<SpendingAnomaly> findByUserIdAndDetectedAtAfterOrderByDetectedAtDesc(String userId, LocalDateTime after,
+                                                                             Pageable pageable);
+}
@@ -1,11 +1,16 @@
 package com.financialtracker.analytics.service;
 
 import com.financialtracker.analytics.dto.*;
+import com.financialtracker.analytics.model.SpendingAnomaly;
+import com.financialtracker.analytics.repository.SpendingAnomalyRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -14,7 +19,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+    private static final int MAX_PERCENTILE_INSIGHTS = 3;
+    private static final int MAX_ANOMALY_INSIGHTS = 3;
+    private static final int ANOMALY_INSIGHT_DAYS = 30;
+
     private final RestTemplate restTemplate = new RestTemplate();
+    private final BudgetEvaluator budgetEvaluator;
+    private final SpendingAnomalyRepository spendingAnomalyRepository;
+
+    @Value("${insights.min-samples:20}")
+    private long minSamples;
 
     public CategoryBreakdown getCategoryBreakdown(String userId) {
         // In real implementation, fetch from transaction service or cached data
@@ -51,6 +65,15 @@ public class AnalyticsService {
         return new TrendData(dates, income, expenses);
     }
 
+    public List<CategoryPercentiles> getPercentiles(String userId) {
+        return budgetEvaluator.categorySketches(userId).entrySet().stream()
+                .filter(e -> e.getValue().count() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, SpendSketch> e) -> e.getValue().count()).reversed())
+                .map(e -> new CategoryPercentiles(e.getKey(), e.getValue().count(), e.getValue().quantile(0.5),
+                        e.getValue().quantile(0.9), e.getValue().quantile(0.99)))
+                .collect(Collectors.toList());
+    }
+
     public Report getReport(String userId, String period) {
         CategoryBreakdown breakdown = getCategoryBreakdown(userId);
         TrendData trendData = getTrendData(userId, 7);
@@ -60,7 +83,7 @@ public class AnalyticsService {
         double totalExpense = breakdown.getExpense().values().stream()
                 .mapToDouble(Double::doubleValue).sum();
 
-        List<String> insights = generateInsights(totalIncome, totalExpense, breakdown);
+        List<String> insights = generateInsights(userId, totalIncome, totalExpense, breakdown);
 
         return new Report(
                 period,
@@ -73,7 +96,8 @@ public class AnalyticsService {
         );
     }
 
-    private List<String> generateInsights(double totalIncome, double totalExpense, CategoryBreakdown breakdown) {
+    private List<String> generateInsights(String userId, double totalIncome, double totalExpense,
+                                          CategoryBreakdown breakdown) {
         List<String> insights = new ArrayList<>();
         
         double savingsRate = ((totalIncome - totalExpense) / totalIncome) * 100;
@@ -90,7 +114,21 @@ public class AnalyticsService {
         } else {
             insights.add("Great! You're spending less than you earn");
         }
-        
+
+        getPercentiles(userId).stream()
+                .filter(p -> p.getCount() >= minSamples)
+                .limit(MAX_PERCENTILE_INSIGHTS)
+                .forEach(p -> insights.add(String.format("Your median %s charge is %.2f; 99%% of them are under %.2f",
+                        p.getCategory(), p.getMedian(), p.getP99())));
+
+        List<SpendingAnomaly> anomalies = spendingAnomalyRepository.findByUserIdAndDetectedAtAfterOrderByDetectedAtDesc(
+                userId, LocalDateTime.now().minusDays(ANOMALY_INSIGHT_DAYS), PageRequest.of(0, MAX_ANOMALY_INSIGHTS));
+        for (SpendingAnomaly anomaly : anomalies) {
+            insights.add(String.format("Your %.2f %s charge on %s is above your %.0fth percentile (%.2f)",
+                    anomaly.getAmount(), anomaly.getCategory(), anomaly.getDate(),
+                    anomaly.getPercentile() * 100, anomaly.getThreshold()));
+        }
+
         return insights;
     }
 }
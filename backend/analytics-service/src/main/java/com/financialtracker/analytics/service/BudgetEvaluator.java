@@ -0,0 +1,418 @@
+package com.financialtracker.analytics.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.analytics.kafka.BudgetAlertEvent;
+import com.financialtracker.analytics.kafka.TransactionEvent;
+import com.financialtracker.analytics.model.Budget;
+import com.financialtracker.analytics.model.BudgetAlert;
+import com.financialtracker.analytics.model.BudgetOffsetCheckpoint;
+import com.financialtracker.analytics.model.BudgetSpendCheckpoint;
+import com.financialtracker.analytics.model.SpendingAnomaly;
+import com.financialtracker.analytics.repository.BudgetAlertRepository;
+import com.financialtracker.analytics.repository.BudgetOffsetCheckpointRepository;
+import com.financialtracker.analytics.repository.BudgetRepository;
+import com.financialtracker.analytics.repository.BudgetSpendCheckpointRepository;
+import com.financialtracker.analytics.repository.SpendingAnomalyRepository;
+import com.financialtracker.common.jfr.KafkaSendEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-user, per-category monthly expense totals in memory, folded from transaction-events,
+ * and raises an alert the moment a total crosses one of the budget's thresholds. Totals are
+ * checkpointed to Mongo together with the consumed offsets, so a restart resumes from the last
+ * checkpoint instead of re-reading transactions. Each window also carries a {@link SpendSketch} of
+ * its expense amounts; merged over the retained months they give the user's percentiles per
+ * category, and a current-month charge above the configured percentile is recorded as an anomaly.
+ *
+ * <p>Events are keyed by user id, so each user's state is only ever written by the consumer
+ * thread owning that partition; the per-user lock is only contended by checkpoints and budget edits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetEvaluator {
+
+    public static final String TOPIC = "transaction-events";
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final BudgetSpendCheckpointRepository spendCheckpointRepository;
+    private final BudgetOffsetCheckpointRepository offsetCheckpointRepository;
+    private final SpendingAnomalyRepository spendingAnomalyRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${budget.alert-topic:budget-alerts}")
+    private String alertTopic;
+
+    @Value("${budget.retention-months:6}")
+    private int retentionMonths;
+
+    @Value("${insights.anomaly-percentile:0.99}")
+    private double anomalyPercentile;
+
+    @Value("${insights.min-samples:20}")
+    private long minSamples;
+
+    // userId -> category -> active budget
+    private final Map<String, Map<String, Budget>> budgets = new ConcurrentHashMap<>();
+    private final Map<String, UserSpend> spend = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Long> processedOffsets = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> checkpointedOffsets = new HashMap<>();
+    private volatile LocalDateTime budgetsSyncedAt;
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gaugeMapSize("budget.evaluator.users", List.of(), spend);
+        syncBudgets();
+    }
+
+    /**
+     * Picks up budgets changed on any instance. Budget edits are rare, so polling the
+     * updatedAt index is cheaper than a change stream and needs no replica set.
+     */
+    @Scheduled(fixedDelayString = "${budget.sync-interval:PT10S}")
+    public void syncBudgets() {
+        // Overlap the window a little so writes committed during the previous poll are not missed
+        LocalDateTime since = budgetsSyncedAt == null
+                ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : budgetsSyncedAt.minusSeconds(5);
+        budgetsSyncedAt = LocalDateTime.now();
+        budgetRepository.findByUpdatedAtAfter(since).forEach(this::applyBudget);
+    }
+
+    /**
+     * Installs or removes a budget and re-evaluates the current month when its limit or thresholds changed,
+     * so lowering a limit below what was already spent alerts immediately.
+     */
+    public void applyBudget(Budget budget) {
+        Map<String, Budget> userBudgets = budgets.computeIfAbsent(budget.getUserId(), id -> new ConcurrentHashMap<>());
+        Budget previous = budget.isActive()
+                ? userBudgets.put(budget.getCategory(), budget)
+                : userBudgets.remove(budget.getCategory());
+        if (!budget.isActive() || (previous != null
+                && Objects.equals(previous.getMonthlyLimit(), budget.getMonthlyLimit())
+                && Objects.equals(previous.getThresholds(), budget.getThresholds()))) {
+            return;
+        }
+
+        UserSpend state = spend.get(budget.getUserId());
+        if (state == null) {
+            return;
+        }
+        List<BudgetAlertEvent> alerts = new ArrayList<>();
+        synchronized (state) {
+            SpendWindow window = state.windows.get(key(YearMonth.now(), budget.getCategory()));
+            if (window != null) {
+                window.crossedMask = 0;
+                evaluate(budget.getUserId(), window, null, alerts);
+            }
+        }
+        dirty.add(budget.getUserId());
+        publish(alerts);
+    }
+
+    public void onEvent(TransactionEvent event, int partition, long offset) {
+        UserSpend state = spend.computeIfAbsent(event.getUserId(), id -> new UserSpend(partition));
+        List<BudgetAlertEvent> alerts = new ArrayList<>(0);
+        List<SpendingAnomaly> anomalies = new ArrayList<>(0);
+        synchronized (state) {
+            // Already folded into the checkpoint this state was restored from
+            if (offset <= state.lastOffset) {
+                return;
+            }
+            state.lastOffset = offset;
+            state.partition = partition;
+
+            switch (event.getEventType()) {
+                case "CREATED" -> apply(state, event, event.getType(), event.getCategory(), event.getDate(),
+                        event.getAmount(), 1, alerts, anomalies);
+                case "DELETED" -> apply(state, event, event.getType(), event.getCategory(), event.getDate(),
+                        event.getAmount(), -1, alerts, anomalies);
+                case "UPDATED" -> {
+                    if (event.getPreviousAmount() == null) {
+                        log.warn("Skipping update of transaction {} without previous values", event.getTransactionId());
+                    } else {
+                        apply(state, event, event.getPreviousType(), event.getPreviousCategory(),
+                                event.getPreviousDate(), event.getPreviousAmount(), -1, alerts, anomalies);
+                        apply(state, event, event.getType(), event.getCategory(), event.getDate(),
+                                event.getAmount(), 1, alerts, anomalies);
+                    }
+                }
+                default -> log.warn("Unknown transaction event type {}", event.getEventType());
+            }
+        }
+        dirty.add(event.getUserId());
+        processedOffsets.put(partition, offset);
+        publish(alerts);
+        record(anomalies);
+    }
+
+    private void apply(UserSpend state, TransactionEvent event, String type, String category, String date,
+                       Double amount, int sign, List<BudgetAlertEvent> alerts, List<SpendingAnomaly> anomalies) {
+        if (!"EXPENSE".equals(type) || category == null || date == null || amount == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(LocalDate.parse(date));
+        if (month.isBefore(YearMonth.now().minusMonths(retentionMonths - 1L))) {
+            return;
+        }
+        if (sign > 0 && month.equals(YearMonth.now())) {
+            detectAnomaly(state, event, category, date, amount, anomalies);
+        }
+        SpendWindow window = state.windows.computeIfAbsent(key(month, category), k -> new SpendWindow(month, category));
+        window.spentCents += sign * toCents(amount);
+        window.sketch.add(amount, sign);
+        evaluate(event.getUserId(), window, event.getTransactionId(), alerts);
+    }
+
+    /**
+     * Compares a new charge against the user's history in its category, before the charge itself
+     * is added, so a single large charge cannot raise its own threshold.
+     */
+    private void detectAnomaly(UserSpend state, TransactionEvent event, String category, String date, Double amount,
+                               List<SpendingAnomaly> anomalies) {
+        // An edit that leaves amount and category alone was already judged when it was created
+        if ("UPDATED".equals(event.getEventType()) && Objects.equals(event.getPreviousAmount(), amount)
+                && Objects.equals(event.getPreviousCategory(), category)) {
+            return;
+        }
+        SpendSketch history = new SpendSketch();
+        for (SpendWindow window : state.windows.values()) {
+            if (window.category.equals(category)) {
+                history.merge(window.sketch);
+            }
+        }
+        if (history.count() < minSamples) {
+            return;
+        }
+        double threshold = history.quantile(anomalyPercentile);
+        if (amount > threshold) {
+            anomalies.add(new SpendingAnomaly(null, event.getUserId(), event.getTransactionId(), category, amount,
+                    date, anomalyPercentile, threshold, LocalDateTime.now()));
+        }
+    }
+
+    private void evaluate(String userId, SpendWindow window, String transactionId, List<BudgetAlertEvent> alerts) {
+        // Thresholds only fire for the running month; back-dated entries just adjust history
+        if (!window.month.equals(YearMonth.now())) {
+            return;
+        }
+        Map<String, Budget> userBudgets = budgets.get(userId);
+        Budget budget = userBudgets == null ? null : userBudgets.get(window.category);
+        if (budget == null || budget.getMonthlyLimit() == null) {
+            return;
+        }
+
+        long limitCents = toCents(budget.getMonthlyLimit());
+        List<Double> thresholds = budget.getThresholds();
+        for (int i = 0; i < thresholds.size(); i++) {
+            int bit = 1 << i;
+            boolean crossed = window.spentCents >= (long) Math.ceil(limitCents * thresholds.get(i));
+            if (crossed && (window.crossedMask & bit) == 0) {
+                window.crossedMask |= bit;
+                alerts.add(new BudgetAlertEvent(null, userId, window.category, window.month.toString(),
+                        thresholds.get(i), budget.getMonthlyLimit(), window.spentCents / 100.0, transactionId));
+            } else if (!crossed) {
+                // Spend fell back below (e.g. a deleted expense), so the threshold can fire again
+                window.crossedMask &= ~bit;
+            }
+        }
+    }
+
+    private void publish(List<BudgetAlertEvent> alerts) {
+        for (BudgetAlertEvent alert : alerts) {
+            BudgetAlert saved = budgetAlertRepository.save(new BudgetAlert(null, alert.getUserId(), alert.getCategory(),
+                    alert.getMonth(), alert.getThreshold(), alert.getMonthlyLimit(), alert.getSpent(),
+                    alert.getTransactionId(), LocalDateTime.now()));
+            alert.setAlertId(saved.getId());
+            try {
+                String payload = objectMapper.writeValueAsString(alert);
+                KafkaSendEvent sendEvent = KafkaSendEvent.start(alertTopic);
+                kafkaTemplate.send(alertTopic, alert.getUserId(), payload).whenComplete(sendEvent::complete);
+            } catch (JsonProcessingException e) {
+                log.error("Error serializing budget alert", e);
+            }
+            meterRegistry.counter("budget.alerts").increment();
+        }
+    }
+
+    private void record(List<SpendingAnomaly> anomalies) {
+        if (!anomalies.isEmpty()) {
+            spendingAnomalyRepository.saveAll(anomalies);
+            meterRegistry.counter("spending.anomalies").increment(anomalies.size());
+        }
+    }
+
+    /**
+     * Expense amount sketches per category, merged over the retained months.
+     */
+    public Map<String, SpendSketch> categorySketches(String userId) {
+        Map<String, SpendSketch> sketches = new HashMap<>();
+        UserSpend state = spend.get(userId);
+        if (state != null) {
+            synchronized (state) {
+                for (SpendWindow window : state.windows.values()) {
+                    sketches.computeIfAbsent(window.category, c -> new SpendSketch()).merge(window.sketch);
+                }
+            }
+            return sketches;
+        }
+        // Another instance owns this user's partition; merge its last checkpoint instead
+        spendCheckpointRepository.findById(userId).ifPresent(checkpoint -> checkpoint.getWindows().forEach(w ->
+                sketches.computeIfAbsent(w.getCategory(), c -> new SpendSketch())
+                        .merge(SpendSketch.of(w.getSketchOffset(), w.getSketchCounts(), w.getSketchZeroCount()))));
+        return sketches;
+    }
+
+    public Double spentThisMonth(String userId, String category) {
+        String month = YearMonth.now().toString();
+        UserSpend state = spend.get(userId);
+        if (state != null) {
+            synchronized (state) {
+                SpendWindow window = state.windows.get(key(YearMonth.now(), category));
+                return window == null ? 0.0 : window.spentCents / 100.0;
+            }
+        }
+        // Another instance owns this user's partition; fall back to its last checkpoint
+        return spendCheckpointRepository.findById(userId)
+                .flatMap(checkpoint -> checkpoint.getWindows().stream()
+                        .filter(w -> w.getMonth().equals(month) && w.getCategory().equals(category))
+                        .findFirst())
+                .map(w -> w.getSpentCents() / 100.0)
+                .orElse(0.0);
+    }
+
+    /**
+     * Restores the state of users on a newly assigned partition and returns the last
+     * checkpointed offset, or null when the partition has never been checkpointed.
+     */
+    public Long restorePartition(int partition) {
+        for (BudgetSpendCheckpoint checkpoint : spendCheckpointRepository.findByPartition(partition)) {
+            UserSpend state = new UserSpend(partition);
+            state.lastOffset = checkpoint.getLastOffset();
+            for (BudgetSpendCheckpoint.Window w : checkpoint.getWindows()) {
+                SpendWindow window = new SpendWindow(YearMonth.parse(w.getMonth()), w.getCategory());
+                window.spentCents = w.getSpentCents();
+                window.crossedMask = w.getCrossedMask();
+                window.sketch = SpendSketch.of(w.getSketchOffset(), w.getSketchCounts(), w.getSketchZeroCount());
+                state.windows.put(key(window.month, window.category), window);
+            }
+            spend.put(checkpoint.getUserId(), state);
+        }
+        Long offset = offsetCheckpointRepository.findById(offsetId(partition))
+                .map(BudgetOffsetCheckpoint::getOffset)
+                .orElse(null);
+        log.info("Restored budget state for partition {} up to offset {}", partition, offset);
+        return offset;
+    }
+
+    public void releasePartitions(Collection<Integer> partitions) {
+        checkpoint();
+        spend.values().removeIf(state -> partitions.contains(state.partition));
+        partitions.forEach(processedOffsets::remove);
+    }
+
+    /**
+     * Writes dirty users first and the offsets captured before them second. Events consumed
+     * while this runs land past the stored offsets and are replayed after a crash; the per-user
+     * lastOffset makes that replay a no-op for users whose newer state did get written.
+     */
+    @Scheduled(fixedDelayString = "${budget.checkpoint-interval:PT10S}")
+    public synchronized void checkpoint() {
+        Map<Integer, Long> offsets = new HashMap<>(processedOffsets);
+        YearMonth oldest = YearMonth.now().minusMonths(retentionMonths - 1L);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BudgetSpendCheckpoint> snapshots = new ArrayList<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String userId = it.next();
+            it.remove();
+            UserSpend state = spend.get(userId);
+            if (state == null) {
+                continue;
+            }
+            synchronized (state) {
+                state.windows.values().removeIf(w -> w.month.isBefore(oldest));
+                List<BudgetSpendCheckpoint.Window> windows = new ArrayList<>(state.windows.size());
+                for (SpendWindow w : state.windows.values()) {
+                    windows.add(new BudgetSpendCheckpoint.Window(w.month.toString(), w.category,
+                            w.spentCents, w.crossedMask, w.sketch.offset(), w.sketch.counts(), w.sketch.zeroCount()));
+                }
+                snapshots.add(new BudgetSpendCheckpoint(userId, state.partition, state.lastOffset, windows, now));
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            spendCheckpointRepository.saveAll(snapshots);
+        }
+
+        offsets.forEach((partition, offset) -> {
+            if (!offset.equals(checkpointedOffsets.get(partition))) {
+                offsetCheckpointRepository.save(
+                        new BudgetOffsetCheckpoint(offsetId(partition), TOPIC, partition, offset, now));
+                checkpointedOffsets.put(partition, offset);
+            }
+        });
+        if (!snapshots.isEmpty()) {
+            log.debug("Checkpointed budget spend for {} users", snapshots.size());
+        }
+    }
+
+    private static String offsetId(int partition) {
+        return TOPIC + "-" + partition;
+    }
+
+    private static String key(YearMonth month, String category) {
+        return month + "|" + category;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static final class UserSpend {
+        private final Map<String, SpendWindow> windows = new HashMap<>(4);
+        private int partition;
+        private long lastOffset = -1;
+
+        private UserSpend(int partition) {
+            this.partition = partition;
+        }
+    }
+
+    private static final class SpendWindow {
+        private final YearMonth month;
+        private final String category;
+        private long spentCents;
+        private int crossedMask;
+        private SpendSketch sketch = new SpendSketch();
+
+        private SpendWindow(YearMonth month, String category) {
+            this.month = month;
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.financialtracker.analytics.service;
+
+import com.financialtracker.analytics.dto.BudgetDTO;
+import com.financialtracker.analytics.model.Budget;
+import com.financialtracker.analytics.model.BudgetAlert;
+import com.financialtracker.analytics.repository.BudgetAlertRepository;
+import com.financialtracker.analytics.repository.BudgetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BudgetService {
+
+    private static final int MAX_THRESHOLDS = 8;
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final BudgetEvaluator budgetEvaluator;
+
+    @Value("${budget.default-thresholds:0.8,1.0}")
+    private List<Double> defaultThresholds;
+
+    public List<BudgetDTO> getBudgets(String userId) {
+        return budgetRepository.findByUserIdAndActiveTrue(userId).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public BudgetDTO setBudget(String userId, String category, BudgetDTO dto) {
+        if (dto.getMonthlyLimit() == null || dto.getMonthlyLimit() <= 0) {
+            throw new RuntimeException("Monthly limit must be positive");
+        }
+        List<Double> thresholds = dto.getThresholds() == null || dto.getThresholds().isEmpty()
+                ? defaultThresholds
+                : dto.getThresholds().stream().sorted().distinct().collect(Collectors.toList());
+        if (thresholds.size() > MAX_THRESHOLDS || thresholds.get(0) <= 0) {
+            throw new RuntimeException("Thresholds must be positive fractions of the limit, at most " + MAX_THRESHOLDS);
+        }
+
+        Budget budget = budgetRepository.findByUserIdAndCategory(userId, category)
+                .orElseGet(() -> {
+                    Budget b = new Budget();
+                    b.setUserId(userId);
+                    b.setCategory(category);
+                    return b;
+                });
+        budget.setMonthlyLimit(dto.getMonthlyLimit());
+        budget.setThresholds(thresholds);
+        budget.setActive(true);
+        budget.setUpdatedAt(LocalDateTime.now());
+        budget = budgetRepository.save(budget);
+
+        budgetEvaluator.applyBudget(budget);
+        return mapToDTO(budget);
+    }
+
+    public void deleteBudget(String userId, String category) {
+        Budget budget = budgetRepository.findByUserIdAndCategory(userId, category)
+                .filter(Budget::isActive)
+                .orElseThrow(() -> new RuntimeException("Budget not found"));
+        budget.setActive(false);
+        budget.setUpdatedAt(LocalDateTime.now());
+        budgetEvaluator.applyBudget(budgetRepository.save(budget));
+    }
+
+    public List<BudgetAlert> getAlerts(String userId, int limit) {
+        return budgetAlertRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, Math.min(limit, 100)));
+    }
+
+    private BudgetDTO mapToDTO(Budget budget) {
+        Double spent = budgetEvaluator.spentThisMonth(budget.getUserId(), budget.getCategory());
+        return new BudgetDTO(
+                budget.getCategory(),
+                budget.getMonthlyLimit(),
+                budget.getThresholds(),
+                spent,
+                budget.getMonthlyLimit() - spent
+        );
+    }
+}
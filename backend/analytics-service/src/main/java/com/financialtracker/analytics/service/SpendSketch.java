@@ -0,0 +1,134 @@
+package com.financialtracker.analytics.service;
+
+/**
+ * Log-bucketed quantile sketch of amounts (the DDSketch layout). Bucket i counts the amounts in
+ * (gamma^(i-1), gamma^i], so every quantile is answered within {@link #RELATIVE_ACCURACY} of the
+ * true value. Merging adds bucket counts, which makes sketches of different months or partitions
+ * combine exactly, and an amount can be taken out again when its transaction is edited or deleted.
+ * Amounts are clamped to a cent and a trillion, bounding a sketch to about 1,600 buckets however
+ * many amounts it has seen; a category typically spans a few hundred.
+ */
+public final class SpendSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_AMOUNT = 0.01;
+    private static final double MAX_AMOUNT = 1e12;
+
+    private int offset; // bucket index of counts[0]
+    private int[] counts = new int[0];
+    private long zeroCount; // amounts below a cent
+    private long count;
+
+    public static SpendSketch of(int offset, int[] counts, long zeroCount) {
+        SpendSketch sketch = new SpendSketch();
+        if (counts != null) {
+            sketch.offset = offset;
+            sketch.counts = counts.clone();
+            for (int c : counts) {
+                sketch.count += c;
+            }
+        }
+        sketch.zeroCount = zeroCount;
+        sketch.count += zeroCount;
+        return sketch;
+    }
+
+    /**
+     * Adds an amount with weight 1, or removes one with weight -1. Removing an amount the sketch
+     * never saw (its add predates the retained history) is ignored.
+     */
+    public void add(double amount, int weight) {
+        if (amount < MIN_AMOUNT) {
+            if (zeroCount + weight >= 0) {
+                zeroCount += weight;
+                count += weight;
+            }
+            return;
+        }
+        int index = index(Math.min(amount, MAX_AMOUNT));
+        if (weight < 0 && (index < offset || index >= offset + counts.length || counts[index - offset] + weight < 0)) {
+            return;
+        }
+        ensureCovers(index, index);
+        counts[index - offset] += weight;
+        count += weight;
+    }
+
+    public void merge(SpendSketch other) {
+        zeroCount += other.zeroCount;
+        count += other.count;
+        if (other.counts.length == 0) {
+            return;
+        }
+        ensureCovers(other.offset, other.offset + other.counts.length - 1);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[other.offset - offset + i] += other.counts[i];
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * The amount at quantile {@code q} (0.5 is the median), or NaN when the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(offset + i);
+            }
+        }
+        return value(offset + counts.length - 1);
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int[] counts() {
+        return counts.clone();
+    }
+
+    public long zeroCount() {
+        return zeroCount;
+    }
+
+    private void ensureCovers(int low, int high) {
+        if (counts.length == 0) {
+            offset = low;
+            counts = new int[high - low + 1];
+            return;
+        }
+        int newOffset = Math.min(offset, low);
+        int newEnd = Math.max(offset + counts.length - 1, high);
+        if (newOffset == offset && newEnd == offset + counts.length - 1) {
+            return;
+        }
+        int[] grown = new int[newEnd - newOffset + 1];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        offset = newOffset;
+        counts = grown;
+    }
+
+    private static int index(double amount) {
+        return (int) Math.ceil(Math.log(amount) / LOG_GAMMA);
+    }
+
+    private static double value(int index) {
+        // Midpoint of the bucket in relative terms, within RELATIVE_ACCURACY of both of its bounds
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
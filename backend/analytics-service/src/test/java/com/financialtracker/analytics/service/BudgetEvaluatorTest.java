@@ -0,0 +1,159 @@
+package com.financialtracker.analytics.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.analytics.kafka.TransactionEvent;
+import com.financialtracker.analytics.model.SpendingAnomaly;
+import com.financialtracker.analytics.repository.BudgetAlertRepository;
+import com.financialtracker.analytics.repository.BudgetOffsetCheckpointRepository;
+import com.financialtracker.analytics.repository.BudgetRepository;
+import com.financialtracker.analytics.repository.BudgetSpendCheckpointRepository;
+import com.financialtracker.analytics.repository.SpendingAnomalyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BudgetEvaluatorTest {
+
+    private static final String USER = "user-1";
+    private static final String TODAY = LocalDate.now().toString();
+    private static final String LAST_MONTH = LocalDate.now().minusMonths(1).toString();
+
+    private final SpendingAnomalyRepository anomalyRepository = mock(SpendingAnomalyRepository.class);
+    private final BudgetEvaluator evaluator = evaluator(anomalyRepository);
+    private long offset;
+
+    @Test
+    void chargeAboveThePercentileOfTheCategoryHistoryIsAnAnomaly() {
+        // 100 groceries of 10.00 to 59.50 spread over this month and last: p99 is about 59
+        for (int i = 0; i < 100; i++) {
+            created("t" + i, "Groceries", 10 + i * 0.5, i % 2 == 0 ? TODAY : LAST_MONTH);
+        }
+
+        historyRecorded();
+
+        created("big", "Groceries", 250, TODAY);
+
+        SpendingAnomaly anomaly = onlyAnomaly();
+        assertThat(anomaly.getTransactionId()).isEqualTo("big");
+        assertThat(anomaly.getPercentile()).isEqualTo(0.99);
+        assertThat(anomaly.getThreshold()).isCloseTo(59, within(59 * SpendSketch.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void chargeWithinTheHistoryIsNotAnAnomaly() {
+        for (int i = 0; i < 100; i++) {
+            created("t" + i, "Groceries", 10 + i * 0.5, TODAY);
+        }
+
+        historyRecorded();
+
+        created("usual", "Groceries", 40, TODAY);
+
+        verify(anomalyRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void otherCategoriesDoNotCountTowardsTheHistory() {
+        for (int i = 0; i < 100; i++) {
+            created("t" + i, "Rent", 1_000 + i, TODAY);
+        }
+        for (int i = 0; i < 19; i++) {
+            created("g" + i, "Groceries", 20, TODAY);
+        }
+
+        historyRecorded();
+
+        // Only 19 grocery samples, below insights.min-samples
+        created("big", "Groceries", 500, TODAY);
+
+        verify(anomalyRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void aLargeChargeDoesNotRaiseItsOwnThreshold() {
+        for (int i = 0; i < 20; i++) {
+            created("t" + i, "Travel", 100, TODAY);
+        }
+
+        historyRecorded();
+
+        created("flight", "Travel", 900, TODAY);
+
+        assertThat(onlyAnomaly().getThreshold()).isCloseTo(100, within(100 * SpendSketch.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void backdatedChargeIsNotJudged() {
+        for (int i = 0; i < 50; i++) {
+            created("t" + i, "Groceries", 20, TODAY);
+        }
+
+        historyRecorded();
+
+        created("old", "Groceries", 900, LAST_MONTH);
+
+        verify(anomalyRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void editThatKeepsAmountAndCategoryIsNotJudgedAgain() {
+        for (int i = 0; i < 50; i++) {
+            created("t" + i, "Groceries", 20, TODAY);
+        }
+        historyRecorded();
+        created("big", "Groceries", 300, TODAY);
+
+        evaluator.onEvent(new TransactionEvent("UPDATED", "big", USER, "EXPENSE", "Groceries", 300.0, TODAY,
+                "EXPENSE", "Groceries", 300.0, TODAY), 0, ++offset);
+
+        verify(anomalyRepository, times(1)).saveAll(any());
+    }
+
+    /**
+     * Forgets anomalies found while building up the history, so only the charge under test is judged.
+     */
+    private void historyRecorded() {
+        clearInvocations(anomalyRepository);
+    }
+
+    private void created(String transactionId, String category, double amount, String date) {
+        evaluator.onEvent(new TransactionEvent("CREATED", transactionId, USER, "EXPENSE", category, amount, date,
+                null, null, null, null), 0, ++offset);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SpendingAnomaly onlyAnomaly() {
+        ArgumentCaptor<Iterable<SpendingAnomaly>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(anomalyRepository).saveAll(saved.capture());
+        List<SpendingAnomaly> anomalies = new ArrayList<>();
+        saved.getValue().forEach(anomalies::add);
+        assertThat(anomalies).hasSize(1);
+        return anomalies.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BudgetEvaluator evaluator(SpendingAnomalyRepository anomalyRepository) {
+        BudgetEvaluator evaluator = new BudgetEvaluator(mock(BudgetRepository.class), mock(BudgetAlertRepository.class),
+                mock(BudgetSpendCheckpointRepository.class), mock(BudgetOffsetCheckpointRepository.class),
+                anomalyRepository, mock(KafkaTemplate.class), new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(evaluator, "retentionMonths", 6);
+        ReflectionTestUtils.setField(evaluator, "anomalyPercentile", 0.99);
+        ReflectionTestUtils.setField(evaluator, "minSamples", 20L);
+        return evaluator;
+    }
+}
@@ -0,0 +1,156 @@
+package com.financialtracker.analytics.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpendSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1.0};
+
+    @Test
+    void quantilesOfEvenlySpreadAmountsAreWithinOnePercent() {
+        double[] amounts = new double[10_000];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 1 + i * 0.37;
+        }
+
+        assertQuantilesWithinAccuracy(amounts);
+    }
+
+    @Test
+    void quantilesOfLogNormalAmountsAreWithinOnePercent() {
+        Random random = new Random(42);
+        double[] amounts = new double[100_000];
+        for (int i = 0; i < amounts.length; i++) {
+            // Median about 30, with a long tail of large charges
+            amounts[i] = Math.exp(3.4 + 1.2 * random.nextGaussian());
+        }
+
+        assertQuantilesWithinAccuracy(amounts);
+    }
+
+    @Test
+    void quantilesOfRepeatedAmountsAreWithinOnePercent() {
+        Random random = new Random(7);
+        double[] prices = {4.99, 12.50, 60.00, 1_250.00};
+        double[] amounts = new double[5_000];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = prices[random.nextInt(prices.length)];
+        }
+
+        assertQuantilesWithinAccuracy(amounts);
+    }
+
+    @Test
+    void mergeEqualsTheSketchOfTheUnion() {
+        Random random = new Random(3);
+        SpendSketch small = new SpendSketch();
+        SpendSketch large = new SpendSketch();
+        SpendSketch union = new SpendSketch();
+        for (int i = 0; i < 2_000; i++) {
+            double smallAmount = i % 50 == 0 ? 0.001 : 0.5 + random.nextDouble() * 20;
+            double largeAmount = 500 + random.nextDouble() * 50_000;
+            small.add(smallAmount, 1);
+            large.add(largeAmount, 1);
+            union.add(smallAmount, 1);
+            union.add(largeAmount, 1);
+        }
+
+        SpendSketch merged = new SpendSketch();
+        merged.merge(large);
+        merged.merge(small);
+
+        assertSameSketch(merged, union);
+        for (double q : QUANTILES) {
+            assertThat(merged.quantile(q)).as("quantile %s", q).isEqualTo(union.quantile(q));
+        }
+    }
+
+    @Test
+    void mergeSurvivesTheStoredForm() {
+        SpendSketch sketch = new SpendSketch();
+        for (int i = 1; i <= 300; i++) {
+            sketch.add(i * 1.5, 1);
+        }
+        sketch.add(0, 1);
+
+        SpendSketch restored = SpendSketch.of(sketch.offset(), sketch.counts(), sketch.zeroCount());
+
+        assertSameSketch(restored, sketch);
+    }
+
+    @Test
+    void bucketsStayBoundedByTheClampedRange() {
+        SpendSketch sketch = new SpendSketch();
+        for (double amount = 1e-6; amount < 1e18; amount *= 1.001) {
+            sketch.add(amount, 1);
+        }
+
+        double gamma = (1 + SpendSketch.RELATIVE_ACCURACY) / (1 - SpendSketch.RELATIVE_ACCURACY);
+        int bound = (int) Math.ceil(Math.log(1e12 / 0.01) / Math.log(gamma)) + 1;
+        assertThat(sketch.counts().length).isLessThanOrEqualTo(bound).isGreaterThan(bound - 2);
+        // Below a cent counts as zero, above a trillion as a trillion
+        assertThat(sketch.quantile(0)).isZero();
+        assertThat(sketch.quantile(1)).isCloseTo(1e12, within(1e12 * SpendSketch.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void removingAnAmountUndoesItsAdd() {
+        SpendSketch sketch = new SpendSketch();
+        sketch.add(10, 1);
+        sketch.add(20, 1);
+        SpendSketch before = SpendSketch.of(sketch.offset(), sketch.counts(), sketch.zeroCount());
+
+        sketch.add(5_000, 1);
+        sketch.add(5_000, -1);
+
+        assertThat(sketch.count()).isEqualTo(2);
+        assertThat(sketch.quantile(1)).isEqualTo(before.quantile(1));
+    }
+
+    @Test
+    void removingAnAmountNeverAddedIsIgnored() {
+        SpendSketch sketch = new SpendSketch();
+        sketch.add(10, 1);
+
+        sketch.add(99, -1);
+        sketch.add(0, -1);
+
+        assertThat(sketch.count()).isEqualTo(1);
+        assertThat(sketch.zeroCount()).isZero();
+        assertThat(Arrays.stream(sketch.counts()).sum()).isEqualTo(1);
+    }
+
+    @Test
+    void emptySketchHasNoQuantile() {
+        assertThat(new SpendSketch().quantile(0.5)).isNaN();
+    }
+
+    private static void assertQuantilesWithinAccuracy(double[] amounts) {
+        SpendSketch sketch = new SpendSketch();
+        for (double amount : amounts) {
+            sketch.add(amount, 1);
+        }
+        double[] sorted = amounts.clone();
+        Arrays.sort(sorted);
+
+        assertThat(sketch.count()).isEqualTo(amounts.length);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            assertThat(sketch.quantile(q)).as("quantile %s", q)
+                    .isCloseTo(exact, within(exact * SpendSketch.RELATIVE_ACCURACY));
+        }
+    }
+
+    private static void assertSameSketch(SpendSketch actual, SpendSketch expected) {
+        assertThat(actual.count()).isEqualTo(expected.count());
+        assertThat(actual.zeroCount()).isEqualTo(expected.zeroCount());
+        assertThat(actual.offset()).isEqualTo(expected.offset());
+        assertThat(actual.counts()).containsExactly(expected.counts());
+    }
+}
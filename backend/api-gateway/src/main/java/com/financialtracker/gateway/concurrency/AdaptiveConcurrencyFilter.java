@@ -0,0 +1,159 @@
+package com.financialtracker.gateway.concurrency;
+
+import com.financialtracker.gateway.loadbalancer.UpstreamFailure;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Limits concurrent requests per downstream service to a limit learned from response times, and
+ * sheds what does not fit before it reaches an overloaded service. Reads take the priority in their
+ * route's {@code priority} metadata (NORMAL when absent); writes are at least HIGH.
+ *
+ * <p>Runs inside the response-writing filter, so a request holds its slot until the service has
+ * answered with headers, not while a slow client reads the body. Only responses that say the
+ * service is struggling ({@link UpstreamFailure}) shrink the limit; a 500 for a bad request does not.
+ */
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+
+    private final Map<String, ServiceLimiter> limiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int windowMinSamples;
+    private final int maxQueue;
+    private final long maxQueueWaitNanos;
+
+    public AdaptiveConcurrencyFilter(
+            MeterRegistry meterRegistry,
+            @Value("${concurrency.enabled:true}") boolean enabled,
+            @Value("${concurrency.initial-limit:20}") int initialLimit,
+            @Value("${concurrency.min-limit:4}") int minLimit,
+            @Value("${concurrency.max-limit:500}") int maxLimit,
+            @Value("${concurrency.rtt-tolerance:1.5}") double tolerance,
+            @Value("${concurrency.smoothing:0.2}") double smoothing,
+            @Value("${concurrency.window:PT1S}") Duration window,
+            @Value("${concurrency.window-min-samples:10}") int windowMinSamples,
+            @Value("${concurrency.max-queue:100}") int maxQueue,
+            @Value("${concurrency.max-queue-wait:PT0.2S}") Duration maxQueueWait) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = window.toNanos();
+        this.windowMinSamples = Math.max(1, windowMinSamples);
+        this.maxQueue = maxQueue;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null || route.getUri().getHost() == null) {
+            return chain.filter(exchange);
+        }
+
+        Priority priority = priority(route, exchange.getRequest().getMethod());
+        ServiceLimiter limiter = limiters.computeIfAbsent(route.getUri().getHost().toLowerCase(), this::register);
+        return limiter.acquire(priority).flatMap(permit -> {
+            if (!permit.isGranted()) {
+                return reject(exchange, limiter, priority);
+            }
+            return chain.filter(exchange)
+                    .doOnSuccess(done -> permit.complete(UpstreamFailure.isFailure(exchange.getResponse().getStatusCode())))
+                    .doOnError(e -> permit.complete(UpstreamFailure.isFailure(e)))
+                    .doOnCancel(permit::cancel);
+        });
+    }
+
+    /**
+     * Runs a request the gateway makes itself under the same limiter as routed requests to
+     * {@code serviceId}, failing with 503 when it is shed.
+     */
+    public <T> Mono<T> admit(String serviceId, Priority priority, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        ServiceLimiter limiter = limiters.computeIfAbsent(serviceId.toLowerCase(), this::register);
+        return limiter.acquire(priority).flatMap(permit -> {
+            if (!permit.isGranted()) {
+                countRejected(limiter, priority);
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Shed by the concurrency limit for " + limiter.getServiceId()));
+            }
+            return call
+                    .doOnSuccess(value -> permit.complete(false))
+                    .doOnError(e -> permit.complete(UpstreamFailure.isFailure(e)))
+                    .doOnCancel(permit::cancel);
+        });
+    }
+
+    private static Priority priority(Route route, HttpMethod method) {
+        Object configured = route.getMetadata().get("priority");
+        Priority priority = configured == null ? Priority.NORMAL : Priority.valueOf(configured.toString().toUpperCase());
+        boolean read = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+        if (!read && priority.compareTo(Priority.HIGH) > 0) {
+            return Priority.HIGH;
+        }
+        return priority;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, ServiceLimiter limiter, Priority priority) {
+        countRejected(limiter, priority);
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        exchange.getResponse().getHeaders().set("Retry-After", "1");
+        return exchange.getResponse().setComplete();
+    }
+
+    private void countRejected(ServiceLimiter limiter, Priority priority) {
+        meterRegistry.counter("gateway.concurrency.rejected",
+                "service", limiter.getServiceId(), "priority", priority.name().toLowerCase()).increment();
+    }
+
+    private ServiceLimiter register(String serviceId) {
+        ServiceLimiter limiter = new ServiceLimiter(serviceId,
+                new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                        windowNanos, windowMinSamples, System.nanoTime()),
+                maxQueue, maxQueueWaitNanos);
+        Gauge.builder("gateway.concurrency.limit", limiter, ServiceLimiter::getLimit)
+                .tag("service", serviceId).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limiter, ServiceLimiter::getInFlight)
+                .tag("service", serviceId).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queued", limiter, ServiceLimiter::getQueued)
+                .tag("service", serviceId).register(meterRegistry);
+        return limiter;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
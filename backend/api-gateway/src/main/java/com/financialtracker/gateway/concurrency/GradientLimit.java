@@ -0,0 +1,87 @@
+package com.financialtracker.gateway.concurrency;
+
+/**
+ * Concurrency limit learned from round-trip times, after the gradient algorithm of Netflix's
+ * concurrency-limits. Samples are averaged over short windows; the ratio of the long-term RTT
+ * to a window's RTT shrinks the limit as queueing builds up downstream, and a square-root
+ * headroom term keeps probing upwards while latency holds. A window with a failed request
+ * backs off multiplicatively, since timeouts, connection errors and 502/503/504 under load carry
+ * no useful RTT; callers decide what counts as dropped.
+ */
+class GradientLimit {
+
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int windowMinSamples;
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    private long windowStartNanos;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                  long windowNanos, int windowMinSamples, long now) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.windowMinSamples = windowMinSamples;
+        this.windowStartNanos = now;
+    }
+
+    int current() {
+        return (int) limit;
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight, boolean dropped, long now) {
+        windowDropped |= dropped;
+        if (!dropped) {
+            windowRttSum += rttNanos;
+            windowSamples++;
+        }
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (now - windowStartNanos < windowNanos || (windowSamples < windowMinSamples && !windowDropped)) {
+            return;
+        }
+
+        if (windowDropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else {
+            update((double) windowRttSum / windowSamples, windowMaxInFlight);
+        }
+        windowStartNanos = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) * LONG_RTT_ALPHA;
+        // After a load spike the long-term RTT is stale; let it catch up instead of holding the limit high
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Traffic never came close to the limit, so the window says nothing about where it should be
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+    }
+}
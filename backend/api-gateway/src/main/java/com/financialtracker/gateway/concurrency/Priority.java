@@ -0,0 +1,32 @@
+package com.financialtracker.gateway.concurrency;
+
+/**
+ * Admission class of a request. Lower classes may only fill part of a service's concurrency
+ * limit and wait a shorter time for a slot, so under overload they are shed first and the
+ * capacity left goes to logins and writes.
+ */
+public enum Priority {
+    CRITICAL(1.0, 1.0),
+    HIGH(0.9, 1.0),
+    NORMAL(0.8, 0.5),
+    LOW(0.6, 0.0);
+
+    private final double limitShare;
+    private final double waitShare;
+
+    Priority(double limitShare, double waitShare) {
+        this.limitShare = limitShare;
+        this.waitShare = waitShare;
+    }
+
+    /**
+     * In-flight requests of the service below which a request of this class is admitted.
+     */
+    int admissionLimit(int limit) {
+        return Math.max(1, (int) (limit * limitShare));
+    }
+
+    long maxWaitNanos(long maxQueueWaitNanos) {
+        return (long) (maxQueueWaitNanos * waitShare);
+    }
+}
@@ -0,0 +1,228 @@
+package com.financialtracker.gateway.concurrency;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for one downstream service. A request runs when the service's in-flight count
+ * is below its priority's share of the learned limit and no request of equal or higher priority is
+ * waiting; otherwise it waits briefly in a per-priority queue, served highest priority first, and
+ * is rejected if no slot frees up in time.
+ */
+public class ServiceLimiter {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final String serviceId;
+    private final GradientLimit limit;
+    private final int maxQueue;
+    private final long maxQueueWaitNanos;
+    private final Deque<Waiter>[] queues;
+
+    private int inFlight;
+    private int queued;
+
+    @SuppressWarnings("unchecked")
+    ServiceLimiter(String serviceId, GradientLimit limit, int maxQueue, long maxQueueWaitNanos) {
+        this.serviceId = serviceId;
+        this.limit = limit;
+        this.maxQueue = maxQueue;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+        this.queues = new Deque[PRIORITIES.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public int getLimit() {
+        return limit.current();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Emits a granted permit, or {@link Permit#REJECTED} when the request should be shed.
+     */
+    Mono<Permit> acquire(Priority priority) {
+        return Mono.create(sink -> {
+            long waitNanos = priority.maxWaitNanos(maxQueueWaitNanos);
+            Waiter waiter;
+            synchronized (this) {
+                if (!waitingAtOrAbove(priority) && inFlight < priority.admissionLimit(limit.current())) {
+                    inFlight++;
+                    waiter = null;
+                } else if (waitNanos <= 0 || queued >= maxQueue) {
+                    sink.success(Permit.REJECTED);
+                    return;
+                } else {
+                    waiter = new Waiter(priority, sink);
+                    queues[priority.ordinal()].addLast(waiter);
+                    queued++;
+                }
+            }
+            if (waiter == null) {
+                sink.success(new Permit(this));
+                return;
+            }
+            sink.onCancel(() -> abandon(waiter));
+            waiter.timer = Schedulers.parallel().schedule(() -> expire(waiter), waitNanos, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private boolean waitingAtOrAbove(Priority priority) {
+        for (int i = 0; i <= priority.ordinal(); i++) {
+            if (!queues[i].isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (waiter.state != Waiter.WAITING) {
+                return;
+            }
+            dequeue(waiter);
+        }
+        waiter.sink.success(Permit.REJECTED);
+    }
+
+    private void abandon(Waiter waiter) {
+        boolean granted;
+        synchronized (this) {
+            granted = waiter.state == Waiter.GRANTED;
+            if (waiter.state == Waiter.WAITING) {
+                dequeue(waiter);
+            }
+        }
+        if (waiter.timer != null) {
+            waiter.timer.dispose();
+        }
+        if (granted) {
+            // The client went away between the grant and its delivery
+            waiter.permit.cancel();
+        }
+    }
+
+    private void dequeue(Waiter waiter) {
+        waiter.state = Waiter.GONE;
+        queues[waiter.priority.ordinal()].remove(waiter);
+        queued--;
+    }
+
+    void release(long rttNanos, boolean dropped, boolean sample) {
+        int inFlightBefore;
+        synchronized (this) {
+            inFlightBefore = inFlight--;
+        }
+        if (sample) {
+            limit.onSample(rttNanos, inFlightBefore, dropped, System.nanoTime());
+        }
+        drain();
+    }
+
+    /**
+     * Hands freed slots to waiters, highest priority first. A waiter that does not fit stops the
+     * scan, since lower priorities have smaller shares of the limit.
+     */
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>(2);
+        synchronized (this) {
+            int current = limit.current();
+            scan:
+            for (Deque<Waiter> queue : queues) {
+                while (!queue.isEmpty()) {
+                    Waiter waiter = queue.peekFirst();
+                    if (inFlight >= waiter.priority.admissionLimit(current)) {
+                        break scan;
+                    }
+                    queue.pollFirst();
+                    queued--;
+                    inFlight++;
+                    waiter.state = Waiter.GRANTED;
+                    waiter.permit = new Permit(this);
+                    granted.add(waiter);
+                }
+            }
+        }
+        for (Waiter waiter : granted) {
+            if (waiter.timer != null) {
+                waiter.timer.dispose();
+            }
+            waiter.sink.success(waiter.permit);
+        }
+    }
+
+    /**
+     * One admitted request. Completing or cancelling it frees the slot exactly once.
+     */
+    static class Permit {
+
+        static final Permit REJECTED = new Permit(null);
+
+        private final ServiceLimiter limiter;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ServiceLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        boolean isGranted() {
+            return limiter != null;
+        }
+
+        void complete(boolean dropped) {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - startNanos, dropped, true);
+            }
+        }
+
+        /**
+         * Frees the slot without feeding the limit, for requests the client abandoned.
+         */
+        void cancel() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release(0, false, false);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int GONE = 2;
+
+        private final Priority priority;
+        private final MonoSink<Permit> sink;
+        private volatile Disposable timer;
+        private int state = WAITING;
+        private Permit permit;
+
+        private Waiter(Priority priority, MonoSink<Permit> sink) {
+            this.priority = priority;
+            this.sink = sink;
+        }
+    }
+}
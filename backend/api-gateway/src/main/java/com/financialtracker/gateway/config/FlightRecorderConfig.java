@@ -0,0 +1,22 @@
+package com.financialtracker.gateway.config;
+
+import com.financialtracker.common.jfr.FlightRecorderEvents;
+import com.financialtracker.gateway.jfr.JwtVerifyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    /**
+     * A verification takes microseconds, so any duration threshold would hide it; every one is
+     * recorded.
+     */
+    @Bean
+    public FlightRecorderEvents flightRecorderEvents() {
+        return new FlightRecorderEvents(List.of(JwtVerifyEvent.class), Duration.ZERO);
+    }
+}
@@ -0,0 +1,12 @@
+package com.financialtracker.gateway.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces round-robin with the peak-EWMA balancer for every lb:// route.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,47 @@
+package com.financialtracker.gateway.config;
+
+import com.financialtracker.gateway.dashboard.DashboardResponse;
+import com.financialtracker.gateway.loadbalancer.InstanceStatsSnapshot;
+import com.financialtracker.gateway.push.DashboardDelta;
+import com.financialtracker.gateway.push.StreamTicket;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for jjwt, which loads its parser and JSON deserializer reflectively,
+ * and for actuator, Kafka and dashboard payloads bound by Jackson.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.JjwtRuntimeHints.class)
+@RegisterReflectionForBinding({InstanceStatsSnapshot.class, DashboardDelta.class, DashboardResponse.class, StreamTicket.class})
+public class NativeHintsConfig {
+
+    static class JjwtRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String[] REFLECTIVE_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : REFLECTIVE_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        }
+    }
+}
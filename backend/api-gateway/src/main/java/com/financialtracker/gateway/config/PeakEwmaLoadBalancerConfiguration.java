@@ -0,0 +1,32 @@
+package com.financialtracker.gateway.config;
+
+import com.financialtracker.gateway.loadbalancer.InstanceStatsLifecycle;
+import com.financialtracker.gateway.loadbalancer.InstanceStatsRegistry;
+import com.financialtracker.gateway.loadbalancer.PeakEwmaLoadBalancer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load-balancer configuration, instantiated in each service's child context.
+ * Deliberately not a {@code @Configuration} so component scanning leaves it out of the main context.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> peakEwmaLoadBalancer(Environment environment,
+                                                                     LoadBalancerClientFactory clientFactory,
+                                                                     InstanceStatsRegistry registry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, registry);
+    }
+
+    @Bean
+    public InstanceStatsLifecycle instanceStatsLifecycle(InstanceStatsRegistry registry) {
+        return new InstanceStatsLifecycle(registry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.financialtracker.gateway.config;
+
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+/**
+ * Listener containers for the dashboard update stream. Manual acknowledgment that the listener
+ * never gives means no offset is ever committed, so the shared group id stays a label and never
+ * becomes group state on the broker.
+ */
+@Configuration
+public class PushKafkaConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> pushListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
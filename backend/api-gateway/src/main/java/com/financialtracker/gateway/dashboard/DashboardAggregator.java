@@ -0,0 +1,131 @@
+package com.financialtracker.gateway.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.financialtracker.gateway.concurrency.AdaptiveConcurrencyFilter;
+import com.financialtracker.gateway.concurrency.Priority;
+import com.financialtracker.gateway.loadbalancer.InFlightTicket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads the dashboard's sections from the services in parallel, each through the peak-EWMA balancer
+ * and the same concurrency limiter as routed requests, and in CBOR, which the services already
+ * serve. Every section has its own deadline; one that fails or runs late is left out instead of
+ * holding up or failing the others.
+ */
+@Component
+public class DashboardAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregator.class);
+
+    private static final String TRANSACTION_SERVICE = "TRANSACTION-SERVICE";
+    private static final String ANALYTICS_SERVICE = "ANALYTICS-SERVICE";
+
+    private final WebClient webClient;
+    private final AdaptiveConcurrencyFilter concurrency;
+    private final MeterRegistry meterRegistry;
+    private final Priority priority;
+    private final Duration statsTimeout;
+    private final Duration categoryBreakdownTimeout;
+    private final Duration trendsTimeout;
+    private final Duration recentTransactionsTimeout;
+
+    public DashboardAggregator(
+            WebClient.Builder webClientBuilder,
+            ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+            AdaptiveConcurrencyFilter concurrency,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.priority:NORMAL}") Priority priority,
+            @Value("${dashboard.timeout.stats:PT0.5S}") Duration statsTimeout,
+            @Value("${dashboard.timeout.category-breakdown:PT0.5S}") Duration categoryBreakdownTimeout,
+            @Value("${dashboard.timeout.trends:PT0.8S}") Duration trendsTimeout,
+            @Value("${dashboard.timeout.recent-transactions:PT0.5S}") Duration recentTransactionsTimeout) {
+        this.webClient = webClientBuilder
+                .filter(InFlightTicket.releaseOnCancel())
+                .filter(loadBalancer)
+                .codecs(codecs -> codecs.customCodecs().register(new Jackson2CborDecoder()))
+                .build();
+        this.concurrency = concurrency;
+        this.meterRegistry = meterRegistry;
+        this.priority = priority;
+        this.statsTimeout = statsTimeout;
+        this.categoryBreakdownTimeout = categoryBreakdownTimeout;
+        this.trendsTimeout = trendsTimeout;
+        this.recentTransactionsTimeout = recentTransactionsTimeout;
+    }
+
+    public Mono<DashboardResponse> load(String userId, int trendDays, int recentLimit) {
+        Queue<String> unavailable = new ConcurrentLinkedQueue<>();
+        Mono<Optional<JsonNode>> stats = section("stats", TRANSACTION_SERVICE, statsTimeout, unavailable,
+                fetch(userId, "lb://" + TRANSACTION_SERVICE + "/transactions/stats"));
+        Mono<Optional<JsonNode>> categoryBreakdown = section("categoryBreakdown", ANALYTICS_SERVICE,
+                categoryBreakdownTimeout, unavailable,
+                fetch(userId, "lb://" + ANALYTICS_SERVICE + "/analytics/category-breakdown"));
+        Mono<Optional<JsonNode>> trends = section("trends", ANALYTICS_SERVICE, trendsTimeout, unavailable,
+                fetch(userId, "lb://" + ANALYTICS_SERVICE + "/analytics/trends?days={days}", trendDays));
+        Mono<Optional<JsonNode>> recentTransactions = section("recentTransactions", TRANSACTION_SERVICE,
+                recentTransactionsTimeout, unavailable,
+                fetch(userId, "lb://" + TRANSACTION_SERVICE + "/transactions/recent?limit={limit}", recentLimit));
+
+        return Mono.zip(stats, categoryBreakdown, trends, recentTransactions)
+                .map(sections -> new DashboardResponse(
+                        sections.getT1().orElse(null),
+                        sections.getT2().orElse(null),
+                        sections.getT3().orElse(null),
+                        sections.getT4().orElse(null),
+                        List.copyOf(unavailable)));
+    }
+
+    private Mono<JsonNode> fetch(String userId, String uri, Object... uriVariables) {
+        return webClient.get()
+                .uri(uri, uriVariables)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("X-User-Id", userId)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private Mono<Optional<JsonNode>> section(String name, String serviceId, Duration timeout,
+                                             Queue<String> unavailable, Mono<JsonNode> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return concurrency.admit(serviceId, priority, call)
+                    .timeout(timeout)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .doOnSuccess(body -> record(name, "ok", start))
+                    .onErrorResume(e -> {
+                        String outcome = e instanceof TimeoutException ? "timeout" : "error";
+                        log.debug("Dashboard section {} unavailable ({}): {}", name, outcome, e.toString());
+                        unavailable.add(name);
+                        record(name, outcome, start);
+                        return Mono.just(Optional.empty());
+                    });
+        });
+    }
+
+    private void record(String section, String outcome, long startNanos) {
+        Timer.builder("dashboard.section")
+                .tag("section", section)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
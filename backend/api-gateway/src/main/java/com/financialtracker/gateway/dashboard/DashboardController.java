@@ -0,0 +1,48 @@
+package com.financialtracker.gateway.dashboard;
+
+import com.financialtracker.gateway.filter.JwtAuthenticationFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reached through the {@code /api/dashboard} route, whose JWT filter sets the user id attribute;
+ * a direct request to this path has no verified user and is refused.
+ */
+@RestController
+public class DashboardController {
+
+    private static final int SECTIONS = 4;
+    private static final int MAX_TREND_DAYS = 366;
+    private static final int MAX_RECENT = 100;
+
+    private final DashboardAggregator aggregator;
+
+    public DashboardController(DashboardAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    @GetMapping("/composite/dashboard")
+    public Mono<ResponseEntity<DashboardResponse>> dashboard(
+            ServerWebExchange exchange,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "5") int recent) {
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+        if (userId == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        }
+        if (days < 1 || days > MAX_TREND_DAYS || recent < 1 || recent > MAX_RECENT) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "days must be between 1 and " + MAX_TREND_DAYS + ", recent between 1 and " + MAX_RECENT));
+        }
+        return aggregator.load(userId, days, recent)
+                .map(response -> response.unavailable().size() == SECTIONS
+                        ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response)
+                        : ResponseEntity.ok(response));
+    }
+}
@@ -0,0 +1,18 @@
+package com.financialtracker.gateway.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard shows, in the shapes the services return them. A section that failed or
+ * missed its deadline is null and named in {@code unavailable}, so the page renders the rest and
+ * fetches that section on its own later.
+ */
+public record DashboardResponse(
+        JsonNode stats,
+        JsonNode categoryBreakdown,
+        JsonNode trends,
+        JsonNode recentTransactions,
+        List<String> unavailable) {
+}
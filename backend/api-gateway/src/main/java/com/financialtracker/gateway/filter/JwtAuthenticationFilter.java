@@ -1,8 +1,15 @@
 package com.financialtracker.gateway.filter;
 
+import com.financialtracker.gateway.jfr.JwtVerifyEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -11,19 +18,50 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
 
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
+    /**
+     * Exchange attribute holding the verified user id, for handlers the gateway serves itself
+     * through {@code forward:} routes. Unlike the X-User-Id header it cannot be sent by a client.
+     */
+    public static final String USER_ID_ATTR = JwtAuthenticationFilter.class.getName() + ".userId";
+
+    /**
+     * Exchange attribute holding the token's expiry as an {@link java.time.Instant}, absent when the
+     * token has none, so long-lived responses can end when the token stops being valid.
+     */
+    public static final String TOKEN_EXPIRY_ATTR = JwtAuthenticationFilter.class.getName() + ".tokenExpiry";
+
+    /**
+     * Query parameter carrying a stream ticket on routes with {@code allowStreamTicket}.
+     */
+    public static final String TICKET_PARAM = "ticket";
+
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_PURPOSE = "stream";
+    private static final String TOKEN_EXPIRY_CLAIM = "tokenExp";
+
     @Value("${jwt.secret:financialTrackerSecretKeyForJWTTokenGeneration123456789}")
     private String jwtSecret;
 
-    public JwtAuthenticationFilter() {
+    @Value("${push.ticket-ttl:30s}")
+    private Duration ticketTtl;
+
+    private final ObservationRegistry observationRegistry;
+
+    public JwtAuthenticationFilter(ObservationRegistry observationRegistry) {
         super(Config.class);
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -31,44 +69,120 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
 
+            String token;
+            boolean ticket;
             if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
+                // Browser EventSource cannot set headers, so stream routes take a short-lived ticket in
+                // the query instead; the token itself never goes into a URL
+                token = config.isAllowStreamTicket() ? request.getQueryParams().getFirst(TICKET_PARAM) : null;
+                if (token == null) {
+                    return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
+                }
+                ticket = true;
+            } else {
+                String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+                if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                    return onError(exchange, "Invalid authorization header", HttpStatus.UNAUTHORIZED);
+                }
+                token = authHeader.substring(7);
+                ticket = false;
             }
 
-            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return onError(exchange, "Invalid authorization header", HttpStatus.UNAUTHORIZED);
-            }
+            // The server observation for this request lives in the Reactor context, not a thread local
+            return Mono.deferContextual(context -> {
+                Observation observation = Observation.createNotStarted("jwt.verify", observationRegistry)
+                        .parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                        .start();
+                JwtVerifyEvent verifyEvent = new JwtVerifyEvent();
+                verifyEvent.begin();
+                try {
+                    Claims claims = Jwts.parserBuilder()
+                            .setSigningKey(key())
+                            .build()
+                            .parseClaimsJws(token)
+                            .getBody();
+                    // A ticket only opens a stream, and a token only goes in the header
+                    if (ticket != STREAM_PURPOSE.equals(claims.get(PURPOSE_CLAIM, String.class))) {
+                        throw new JwtException("Token used for the wrong purpose");
+                    }
+                    observation.lowCardinalityKeyValue("outcome", "valid").stop();
+                    verifyEvent.complete(true);
+                    exchange.getAttributes().put(USER_ID_ATTR, claims.getSubject());
+                    Instant expiry = ticket ? ticketTokenExpiry(claims)
+                            : claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+                    if (expiry != null) {
+                        exchange.getAttributes().put(TOKEN_EXPIRY_ATTR, expiry);
+                    }
 
-            String token = authHeader.substring(7);
-
-            try {
-                SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
-
-                // Add user info to headers for downstream services
-                ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                        .header("X-User-Id", claims.getSubject())
-                        .header("X-User-Email", claims.get("email", String.class))
-                        .build();
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            } catch (Exception e) {
-                return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
-            }
+                    // Add user info to headers for downstream services
+                    ServerHttpRequest.Builder modifiedRequest = exchange.getRequest().mutate()
+                            .header("X-User-Id", claims.getSubject())
+                            .header("X-User-Email", claims.get("email", String.class));
+                    if (ticket) {
+                        // Keep the ticket out of everything after this filter (forwarded URI, logs, tags)
+                        modifiedRequest.uri(UriComponentsBuilder.fromUri(request.getURI())
+                                .replaceQueryParam(TICKET_PARAM)
+                                .build(true)
+                                .toUri());
+                    }
+
+                    return chain.filter(exchange.mutate().request(modifiedRequest.build()).build());
+                } catch (Exception e) {
+                    observation.lowCardinalityKeyValue("outcome", "invalid").stop();
+                    verifyEvent.complete(false);
+                    return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
+                }
+            });
         };
     }
 
+    /**
+     * Signs a ticket that opens a stream for {@code userId} on routes with {@code allowStreamTicket}.
+     * It is valid for {@code push.ticket-ttl} and is refused as a bearer token; the stream it opens
+     * still ends at {@code tokenExpiry}, the expiry of the token it was issued for.
+     */
+    public String issueStreamTicket(String userId, String email, Instant tokenExpiry) {
+        Instant now = Instant.now();
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(userId)
+                .claim("email", email)
+                .claim(PURPOSE_CLAIM, STREAM_PURPOSE)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ticketTtl)));
+        if (tokenExpiry != null) {
+            builder.claim(TOKEN_EXPIRY_CLAIM, tokenExpiry.getEpochSecond());
+        }
+        return builder.signWith(key(), SignatureAlgorithm.HS256).compact();
+    }
+
+    public Duration getTicketTtl() {
+        return ticketTtl;
+    }
+
+    private SecretKey key() {
+        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Instant ticketTokenExpiry(Claims claims) {
+        Number epochSecond = claims.get(TOKEN_EXPIRY_CLAIM, Number.class);
+        return epochSecond != null ? Instant.ofEpochSecond(epochSecond.longValue()) : null;
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         exchange.getResponse().setStatusCode(httpStatus);
         return exchange.getResponse().setComplete();
     }
 
     public static class Config {
-        // Configuration properties if needed
+
+        private boolean allowStreamTicket;
+
+        public boolean isAllowStreamTicket() {
+            return allowStreamTicket;
+        }
+
+        public void setAllowStreamTicket(boolean allowStreamTicket) {
+            this.allowStreamTicket = allowStreamTicket;
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.financialtracker.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("financialtracker.JwtVerify")
+@Label("JWT Verification")
+@Category({"Financial Tracker", "Security"})
+@Description("Parsing and signature check of a bearer token at the gateway")
+@StackTrace(false)
+public class JwtVerifyEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+
+    private transient boolean committed; // transient fields are not recorded
+
+    /**
+     * Ends and commits the event once; a later call is ignored.
+     */
+    public void complete(boolean valid) {
+        if (committed) {
+            return;
+        }
+        committed = true;
+        end();
+        if (shouldCommit()) {
+            this.valid = valid;
+            commit();
+        }
+    }
+}
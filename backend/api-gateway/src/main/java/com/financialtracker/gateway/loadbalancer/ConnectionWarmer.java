@@ -0,0 +1,54 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Sends a health request to every instance that has been idle for a warm-up interval, through the
+ * gateway's own {@link HttpClient}, so its per-instance connection pool keeps live connections
+ * (and new instances get them before their first real request).
+ */
+@Component
+public class ConnectionWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+    private final InstanceStatsRegistry registry;
+    private final HttpClient httpClient;
+    private final long idleNanos;
+
+    @Value("${loadbalancer.warmup-path:/}")
+    private String warmupPath;
+
+    public ConnectionWarmer(InstanceStatsRegistry registry, HttpClient httpClient,
+                            @Value("${loadbalancer.warmup-interval:PT20S}") Duration interval) {
+        this.registry = registry;
+        this.httpClient = httpClient;
+        this.idleNanos = interval.toNanos();
+    }
+
+    @Scheduled(fixedDelayString = "${loadbalancer.warmup-interval:PT20S}")
+    public void warmIdleInstances() {
+        long now = System.nanoTime();
+        for (InstanceStats stats : registry.all()) {
+            if (stats.getLastUsedNanos() != 0 && now - stats.getLastUsedNanos() < idleNanos) {
+                continue;
+            }
+            stats.markUsed(now);
+            httpClient.get()
+                    .uri(stats.getInstance().getUri() + warmupPath)
+                    .responseSingle((response, body) -> body.asString().then(Mono.just(response.status().code())))
+                    .timeout(Duration.ofSeconds(5))
+                    .subscribe(
+                            status -> log.debug("Warmed {} ({})", stats.getInstanceId(), status),
+                            error -> log.debug("Warm-up of {} failed: {}", stats.getInstanceId(), error.toString()));
+        }
+    }
+}
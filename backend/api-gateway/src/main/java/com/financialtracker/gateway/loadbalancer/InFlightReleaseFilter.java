@@ -0,0 +1,34 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Gives a routed request's in-flight slot back when the request is cancelled, which the
+ * load-balancer filter never reports to {@link InstanceStatsLifecycle}.
+ */
+@Component
+public class InFlightReleaseFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        InFlightTicket ticket = new InFlightTicket();
+        exchange.getAttributes().put(InFlightTicket.ATTR, ticket);
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal == SignalType.CANCEL) {
+                ticket.cancel();
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
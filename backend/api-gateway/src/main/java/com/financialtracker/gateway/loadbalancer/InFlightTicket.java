@@ -0,0 +1,56 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Releases the in-flight slot a request holds on its chosen instance exactly once. The load-balancer
+ * lifecycle is told when a request completes or fails, but not when it is cancelled (a client
+ * disconnect, a section deadline), so the request carries this ticket in its attributes and whoever
+ * sees the end first, the lifecycle or a cancel, releases the slot.
+ */
+public final class InFlightTicket {
+
+    public static final String ATTR = InFlightTicket.class.getName();
+
+    private final AtomicReference<InstanceStats> holder = new AtomicReference<>();
+
+    static InFlightTicket from(Map<String, Object> attributes) {
+        return attributes != null && attributes.get(ATTR) instanceof InFlightTicket ticket ? ticket : null;
+    }
+
+    void hold(InstanceStats stats) {
+        holder.set(stats);
+    }
+
+    /**
+     * @return true when the slot was still held, i.e. this call released it
+     */
+    boolean release() {
+        InstanceStats stats = holder.getAndSet(null);
+        if (stats == null) {
+            return false;
+        }
+        stats.release();
+        return true;
+    }
+
+    public void cancel() {
+        release();
+    }
+
+    /**
+     * For load-balanced {@code WebClient}s: register before the load-balancer filter so a cancelled
+     * exchange gives its slot back.
+     */
+    public static ExchangeFilterFunction releaseOnCancel() {
+        return (request, next) -> {
+            InFlightTicket ticket = new InFlightTicket();
+            ClientRequest withTicket = ClientRequest.from(request).attribute(ATTR, ticket).build();
+            return next.exchange(withTicket).doOnCancel(ticket::cancel);
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Meter;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load and health of one upstream instance as seen by this gateway. Latency is tracked as a
+ * peak-sensitive EWMA: a sample above the average replaces it immediately, lower samples are
+ * blended in, and the average decays while no samples arrive so a once-slow instance is retried.
+ */
+public class InstanceStats {
+
+    private final String serviceId;
+    private final String instanceId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastUsedNanos = new AtomicLong();
+    final List<Meter> meters = new ArrayList<>(4);
+
+    private volatile ServiceInstance instance;
+    private volatile long rampStartNanos;
+    private volatile long ejectedUntilNanos;
+
+    private double costNanos;
+    private long lastSampleNanos;
+    private int consecutiveFailures;
+    private int ejections;
+    private long requests;
+    private long failures;
+
+    InstanceStats(ServiceInstance instance, double seedCostNanos, long now) {
+        this.serviceId = instance.getServiceId();
+        this.instanceId = key(instance);
+        this.instance = instance;
+        this.costNanos = seedCostNanos;
+        this.lastSampleNanos = now;
+        this.rampStartNanos = now;
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    void onStart(long now) {
+        inFlight.incrementAndGet();
+        lastUsedNanos.set(now);
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void onSuccess(long latencyNanos, long now, double decayNanos) {
+        requests++;
+        consecutiveFailures = 0;
+        if (latencyNanos > costNanos) {
+            costNanos = latencyNanos;
+        } else {
+            double w = weight(now, decayNanos);
+            costNanos = costNanos * w + latencyNanos * (1 - w);
+        }
+        lastSampleNanos = now;
+    }
+
+    /**
+     * @return true when this failure ejected the instance
+     */
+    synchronized boolean onFailure(long now, int maxConsecutiveFailures, long baseEjectionNanos, int maxEjectionMultiplier) {
+        requests++;
+        failures++;
+        if (++consecutiveFailures < maxConsecutiveFailures || isEjected(now)) {
+            return false;
+        }
+        consecutiveFailures = 0;
+        ejections = Math.min(ejections + 1, maxEjectionMultiplier);
+        ejectedUntilNanos = now + baseEjectionNanos * ejections;
+        // Come back through slow start rather than at full share
+        rampStartNanos = ejectedUntilNanos;
+        return true;
+    }
+
+    /**
+     * Expected cost of sending one more request here: decayed latency times queued work.
+     */
+    synchronized double load(long now, double decayNanos) {
+        double cost = costNanos * weight(now, decayNanos);
+        return cost * (inFlight.get() + 1);
+    }
+
+    private double weight(long now, double decayNanos) {
+        return Math.exp(-Math.max(now - lastSampleNanos, 0) / decayNanos);
+    }
+
+    /**
+     * Fraction of a full share this instance should get while warming up, in (0, 1].
+     */
+    double rampFactor(long now, long slowStartNanos, double minFactor) {
+        if (slowStartNanos <= 0) {
+            return 1.0;
+        }
+        double progress = (double) (now - rampStartNanos) / slowStartNanos;
+        return progress >= 1.0 ? 1.0 : Math.max(minFactor, progress);
+    }
+
+    boolean isEjected(long now) {
+        return now < ejectedUntilNanos;
+    }
+
+    synchronized double latencyMillis(long now, double decayNanos) {
+        return costNanos * weight(now, decayNanos) / 1_000_000.0;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public ServiceInstance getInstance() {
+        return instance;
+    }
+
+    void setInstance(ServiceInstance instance) {
+        this.instance = instance;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getLastUsedNanos() {
+        return lastUsedNanos.get();
+    }
+
+    void markUsed(long now) {
+        lastUsedNanos.set(now);
+    }
+
+    synchronized InstanceStatsSnapshot snapshot(long now, double decayNanos, long slowStartNanos, double minFactor) {
+        return new InstanceStatsSnapshot(
+                instanceId,
+                instance.getUri().toString(),
+                inFlight.get(),
+                latencyMillis(now, decayNanos),
+                rampFactor(now, slowStartNanos, minFactor),
+                isEjected(now),
+                ejections,
+                requests,
+                failures
+        );
+    }
+}
@@ -0,0 +1,90 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+/**
+ * Feeds request outcomes from the gateway's load-balancer filters into {@link InstanceStatsRegistry}.
+ * Connection errors, timeouts and 502/503/504 responses count as failures for outlier ejection (see
+ * {@link UpstreamFailure}). A request that carries an {@link InFlightTicket} may already have given its
+ * slot back on cancel; its late completion is then ignored.
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final InstanceStatsRegistry registry;
+
+    public InstanceStatsLifecycle(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        long now = System.nanoTime();
+        if (request.getContext() != null) {
+            request.getContext().setRequestStartTime(now);
+        }
+        InstanceStats stats = lbResponse.hasServer() ? registry.get(lbResponse.getServer()) : null;
+        if (stats != null) {
+            stats.onStart(now);
+            InFlightTicket ticket = ticket(request);
+            if (ticket != null) {
+                ticket.hold(stats);
+            }
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats stats = registry.get(lbResponse.getServer());
+        if (stats == null) {
+            return;
+        }
+        InFlightTicket ticket = ticket(completionContext.getLoadBalancerRequest());
+        if (ticket == null) {
+            stats.release();
+        } else if (!ticket.release()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        ResponseData response = completionContext.getClientResponse();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (response != null && UpstreamFailure.isFailure(response.getHttpStatus()));
+        if (failed) {
+            if (stats.onFailure(now, registry.maxConsecutiveFailures, registry.baseEjectionNanos, registry.maxEjectionMultiplier)) {
+                registry.onEjected(stats);
+            }
+        } else {
+            RequestDataContext context = completionContext.getLoadBalancerRequest().getContext();
+            long start = context != null && context.getRequestStartTime() != 0 ? context.getRequestStartTime() : now;
+            stats.onSuccess(now - start, now, registry.decayNanos);
+        }
+    }
+
+    private static InFlightTicket ticket(Request<RequestDataContext> request) {
+        if (request == null || request.getContext() == null || request.getContext().getClientRequest() == null) {
+            return null;
+        }
+        return InFlightTicket.from(request.getContext().getClientRequest().getAttributes());
+    }
+}
@@ -0,0 +1,118 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Shared per-instance statistics for every load-balanced service, fed by
+ * {@link InstanceStatsLifecycle} and read by {@link PeakEwmaLoadBalancer}.
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    final double decayNanos;
+    final long slowStartNanos;
+    final double slowStartMinFactor;
+    final int maxConsecutiveFailures;
+    final long baseEjectionNanos;
+    final int maxEjectionMultiplier;
+    final double maxEjectionPercent;
+
+    public InstanceStatsRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${loadbalancer.ewma-decay:PT10S}") Duration decay,
+            @Value("${loadbalancer.slow-start:PT30S}") Duration slowStart,
+            @Value("${loadbalancer.slow-start-min-factor:0.1}") double slowStartMinFactor,
+            @Value("${loadbalancer.outlier.consecutive-failures:5}") int maxConsecutiveFailures,
+            @Value("${loadbalancer.outlier.base-ejection-time:PT30S}") Duration baseEjection,
+            @Value("${loadbalancer.outlier.max-ejection-multiplier:10}") int maxEjectionMultiplier,
+            @Value("${loadbalancer.outlier.max-ejection-percent:50}") double maxEjectionPercent) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decay.toNanos();
+        this.slowStartNanos = slowStart.toNanos();
+        this.slowStartMinFactor = slowStartMinFactor;
+        this.maxConsecutiveFailures = maxConsecutiveFailures;
+        this.baseEjectionNanos = baseEjection.toNanos();
+        this.maxEjectionMultiplier = maxEjectionMultiplier;
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.get(InstanceStats.key(instance));
+    }
+
+    /**
+     * Reconciles the tracked instances of a service with its current registry list. New instances
+     * start at the service's mean latency, so they are neither flooded nor starved, and then ramp up.
+     */
+    public void sync(String serviceId, List<ServiceInstance> instances) {
+        long now = System.nanoTime();
+        Set<String> current = instances.stream().map(InstanceStats::key).collect(Collectors.toSet());
+        stats.values().removeIf(s -> {
+            if (s.getServiceId().equalsIgnoreCase(serviceId) && !current.contains(s.getInstanceId())) {
+                s.meters.forEach(meterRegistry::remove);
+                return true;
+            }
+            return false;
+        });
+
+        double seed = stats.values().stream()
+                .filter(s -> s.getServiceId().equalsIgnoreCase(serviceId))
+                .mapToDouble(s -> s.latencyMillis(now, decayNanos) * 1_000_000.0)
+                .average()
+                .orElse(0.0);
+        for (ServiceInstance instance : instances) {
+            InstanceStats existing = stats.get(InstanceStats.key(instance));
+            if (existing != null) {
+                existing.setInstance(instance);
+            } else {
+                stats.computeIfAbsent(InstanceStats.key(instance), k -> register(new InstanceStats(instance, seed, now)));
+            }
+        }
+    }
+
+    private InstanceStats register(InstanceStats s) {
+        Tags tags = Tags.of("service", s.getServiceId(), "instance", s.getInstance().getHost() + ":" + s.getInstance().getPort());
+        List<Meter> meters = s.meters;
+        meters.add(Gauge.builder("loadbalancer.instance.in.flight", s, InstanceStats::getInFlight)
+                .tags(tags).register(meterRegistry));
+        meters.add(Gauge.builder("loadbalancer.instance.latency.ewma", s, x -> x.latencyMillis(System.nanoTime(), decayNanos))
+                .tags(tags).baseUnit("milliseconds").register(meterRegistry));
+        meters.add(Gauge.builder("loadbalancer.instance.ejected", s, x -> x.isEjected(System.nanoTime()) ? 1 : 0)
+                .tags(tags).register(meterRegistry));
+        return s;
+    }
+
+    void onEjected(InstanceStats s) {
+        meterRegistry.counter("loadbalancer.ejections", "service", s.getServiceId()).increment();
+    }
+
+    public Collection<InstanceStats> all() {
+        return stats.values();
+    }
+
+    public Map<String, List<InstanceStatsSnapshot>> snapshot() {
+        long now = System.nanoTime();
+        return stats.values().stream().collect(Collectors.groupingBy(
+                InstanceStats::getServiceId,
+                TreeMap::new,
+                Collectors.mapping(s -> s.snapshot(now, decayNanos, slowStartNanos, slowStartMinFactor), Collectors.toList())));
+    }
+}
@@ -0,0 +1,13 @@
+package com.financialtracker.gateway.loadbalancer;
+
+public record InstanceStatsSnapshot(
+        String instanceId,
+        String uri,
+        int inFlight,
+        double latencyEwmaMillis,
+        double slowStartFactor,
+        boolean ejected,
+        int ejections,
+        long requests,
+        long failures) {
+}
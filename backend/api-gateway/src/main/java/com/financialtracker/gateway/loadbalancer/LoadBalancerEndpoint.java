@@ -0,0 +1,27 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/loadbalancer}: per-instance latency, in-flight, slow-start and ejection state by service.
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+public class LoadBalancerEndpoint {
+
+    private final InstanceStatsRegistry registry;
+
+    public LoadBalancerEndpoint(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, List<InstanceStatsSnapshot>> instances() {
+        return registry.snapshot();
+    }
+}
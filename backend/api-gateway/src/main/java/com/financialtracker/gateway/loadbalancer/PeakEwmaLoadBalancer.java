@@ -0,0 +1,96 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over peak-EWMA load: samples two instances at random and sends the request
+ * to the one with the lower latency times in-flight count, scaled up while it is slow-starting.
+ * Ejected outliers are skipped unless too many are ejected, in which case all are used again.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry registry;
+
+    private volatile List<ServiceInstance> lastInstances;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                InstanceStatsRegistry registry) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        // The caching supplier hands out the same list until the registry refreshes
+        if (instances != lastInstances) {
+            registry.sync(serviceId, instances);
+            lastInstances = instances;
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        long now = System.nanoTime();
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            InstanceStats stats = registry.get(instance);
+            if (stats == null || !stats.isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.size() < 2 || candidates.size() < instances.size() * (1 - registry.maxEjectionPercent / 100)) {
+            candidates = instances;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = candidates.size();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(score(a, now) <= score(b, now) ? a : b);
+    }
+
+    private double score(ServiceInstance instance, long now) {
+        InstanceStats stats = registry.get(instance);
+        if (stats == null) {
+            return 0.0;
+        }
+        double ramp = stats.rampFactor(now, registry.slowStartNanos, registry.slowStartMinFactor);
+        return stats.load(now, registry.decayNanos) / ramp;
+    }
+}
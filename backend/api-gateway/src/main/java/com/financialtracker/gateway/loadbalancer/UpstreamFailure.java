@@ -0,0 +1,39 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Which responses say something about an upstream's health. The services answer application errors
+ * such as an unknown transaction id with 500, so only gateway-level statuses (502, 503, 504) count,
+ * along with timeouts and connection errors, which arrive as exceptions instead of a status.
+ */
+public final class UpstreamFailure {
+
+    private UpstreamFailure() {
+    }
+
+    public static boolean isFailure(HttpStatusCode status) {
+        if (status == null) {
+            return false;
+        }
+        int code = status.value();
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * An error carrying a status, such as a gateway timeout or a response the caller turned into an
+     * exception, counts by that status; any other error (a connect failure, a read timeout, a reset
+     * connection) never got an answer from the upstream and counts as a failure.
+     */
+    public static boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return isFailure(response.getStatusCode());
+        }
+        if (error instanceof ErrorResponse response) {
+            return isFailure(response.getStatusCode());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package com.financialtracker.gateway.push;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signed changes to a user's dashboard figures, as published by analytics-service. Deltas of
+ * rapid updates are summed into one before they are pushed; {@code events} counts how many.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record DashboardDelta(
+        String userId,
+        double incomeDelta,
+        double expenseDelta,
+        long countDelta,
+        Map<String, Double> incomeByCategory,
+        Map<String, Double> expenseByCategory,
+        List<String> dates,
+        boolean resync,
+        int events) {
+
+    public DashboardDelta {
+        // A delta straight from analytics-service stands for one event
+        events = Math.max(events, 1);
+    }
+
+    public DashboardDelta merge(DashboardDelta other) {
+        Map<String, Double> income = new HashMap<>(orEmpty(incomeByCategory));
+        orEmpty(other.incomeByCategory).forEach((category, delta) -> income.merge(category, delta, Double::sum));
+        Map<String, Double> expense = new HashMap<>(orEmpty(expenseByCategory));
+        orEmpty(other.expenseByCategory).forEach((category, delta) -> expense.merge(category, delta, Double::sum));
+        List<String> mergedDates = new ArrayList<>(dates == null ? List.of() : dates);
+        if (other.dates != null) {
+            other.dates.stream().filter(d -> !mergedDates.contains(d)).forEach(mergedDates::add);
+        }
+        return new DashboardDelta(userId, incomeDelta + other.incomeDelta, expenseDelta + other.expenseDelta,
+                countDelta + other.countDelta, income, expense, mergedDates, resync || other.resync,
+                events + other.events);
+    }
+
+    private static Map<String, Double> orEmpty(Map<String, Double> map) {
+        return map == null ? Map.of() : map;
+    }
+}
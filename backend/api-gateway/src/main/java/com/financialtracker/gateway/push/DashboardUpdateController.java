@@ -0,0 +1,35 @@
+package com.financialtracker.gateway.push;
+
+import com.financialtracker.gateway.filter.JwtAuthenticationFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reached through the {@code /api/updates} route, whose JWT filter sets the user id attribute;
+ * a direct request to this path has no verified user and is refused. The stream ends when the
+ * token expires; the client reconnects with a fresh one.
+ */
+@RestController
+public class DashboardUpdateController {
+
+    private final DashboardUpdateHub hub;
+
+    public DashboardUpdateController(DashboardUpdateHub hub) {
+        this.hub = hub;
+    }
+
+    @GetMapping(path = "/push/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DashboardDelta>> updates(ServerWebExchange exchange) {
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+        if (userId == null) {
+            return Flux.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        }
+        return hub.subscribe(userId, exchange.getAttribute(JwtAuthenticationFilter.TOKEN_EXPIRY_ATTR));
+    }
+}
@@ -0,0 +1,143 @@
+package com.financialtracker.gateway.push;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans dashboard deltas out to the server-sent event streams open on this gateway instance. A
+ * connection is a subscription to its user's multicast sink on Netty's event loops, so idle
+ * connections cost memory but no threads, and one shared interval drives every keep-alive.
+ * Deltas for a user arriving within the coalescing window are summed and pushed as one event.
+ *
+ * <p>Event ids count up per user. A slow client can miss an event (the sink drops rather than
+ * buffers for it), which it sees as a gap in ids and answers by refetching.
+ */
+@Component
+public class DashboardUpdateHub {
+
+    private final Map<String, UserChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Flux<ServerSentEvent<DashboardDelta>> keepAlive;
+    private final long coalesceNanos;
+    private final Counter pushed;
+    private final Counter coalesced;
+
+    public DashboardUpdateHub(
+            MeterRegistry meterRegistry,
+            @Value("${push.coalesce-window:PT0.25S}") Duration coalesceWindow,
+            @Value("${push.keep-alive:PT30S}") Duration keepAlive) {
+        this.coalesceNanos = coalesceWindow.toNanos();
+        this.keepAlive = Flux.interval(keepAlive)
+                .map(i -> ServerSentEvent.<DashboardDelta>builder().comment("keep-alive").build())
+                .share();
+        this.pushed = meterRegistry.counter("push.events", "outcome", "pushed");
+        this.coalesced = meterRegistry.counter("push.events", "outcome", "coalesced");
+        Gauge.builder("push.connections", connections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("push.users", channels, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Streams the user's deltas until {@code expiry}, or indefinitely when it is null.
+     */
+    public Flux<ServerSentEvent<DashboardDelta>> subscribe(String userId, Instant expiry) {
+        Flux<ServerSentEvent<DashboardDelta>> updates = stream(userId);
+        if (expiry == null) {
+            return updates;
+        }
+        return updates.takeUntilOther(Mono.defer(() -> {
+            Duration remaining = Duration.between(Instant.now(), expiry);
+            return Mono.delay(remaining.isNegative() ? Duration.ZERO : remaining);
+        }));
+    }
+
+    private Flux<ServerSentEvent<DashboardDelta>> stream(String userId) {
+        return Flux.defer(() -> {
+            UserChannel channel = channels.compute(userId, (id, existing) -> {
+                UserChannel c = existing == null ? new UserChannel() : existing;
+                c.subscribers++;
+                return c;
+            });
+            connections.incrementAndGet();
+            // Tells the client its baseline fetch is now covered by the stream
+            ServerSentEvent<DashboardDelta> ready = ServerSentEvent.<DashboardDelta>builder()
+                    .event("ready").id(Long.toString(channel.sequence())).build();
+            return Flux.merge(channel.sink.asFlux(), keepAlive)
+                    .startWith(ready)
+                    .doFinally(signal -> leave(userId, channel));
+        });
+    }
+
+    /**
+     * Queues a delta for the user's connections on this instance; dropped when there are none.
+     */
+    public void publish(DashboardDelta delta) {
+        UserChannel channel = channels.get(delta.userId());
+        if (channel == null) {
+            return;
+        }
+        boolean schedule;
+        synchronized (channel) {
+            if (channel.pending == null) {
+                channel.pending = delta;
+            } else {
+                channel.pending = channel.pending.merge(delta);
+                coalesced.increment();
+            }
+            schedule = !channel.flushScheduled;
+            channel.flushScheduled = true;
+        }
+        if (schedule) {
+            Schedulers.parallel().schedule(() -> flush(channel), coalesceNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush(UserChannel channel) {
+        synchronized (channel) {
+            DashboardDelta delta = channel.pending;
+            channel.pending = null;
+            channel.flushScheduled = false;
+            if (delta == null) {
+                return;
+            }
+            channel.sequence++;
+            // Emissions for a user are serialized by this lock, as the sink requires
+            channel.sink.tryEmitNext(ServerSentEvent.builder(delta)
+                    .event("update").id(Long.toString(channel.sequence)).build());
+        }
+        pushed.increment();
+    }
+
+    private void leave(String userId, UserChannel channel) {
+        connections.decrementAndGet();
+        channels.computeIfPresent(userId, (id, c) -> c != channel || --c.subscribers > 0 ? c : null);
+    }
+
+    private static final class UserChannel {
+
+        private final Sinks.Many<ServerSentEvent<DashboardDelta>> sink =
+                Sinks.many().multicast().directBestEffort();
+        private int subscribers; // guarded by the channels map entry
+        private DashboardDelta pending;
+        private boolean flushScheduled;
+        private long sequence;
+
+        private synchronized long sequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.financialtracker.gateway.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every gateway instance reads all dashboard updates, since a user's streams may be open on any
+ * instance, so it assigns itself every partition rather than sharing them in a consumer group.
+ * It commits no offsets and starts from the latest: clients fetch their baseline on connect, so
+ * nothing older is worth replaying, and no group is left behind on the broker by a restart.
+ */
+@Component
+public class DashboardUpdateListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardUpdateListener.class);
+
+    private final DashboardUpdateHub hub;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public DashboardUpdateListener(DashboardUpdateHub hub, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.hub = hub;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${push.update-topic:dashboard-updates}",
+                    partitions = "#{@dashboardUpdatePartitions.of('${push.update-topic:dashboard-updates}')}"),
+            groupId = "${spring.application.name}-push",
+            containerFactory = "pushListenerContainerFactory",
+            properties = "auto.offset.reset=latest")
+    public void onUpdate(String message) {
+        try {
+            hub.publish(objectMapper.readValue(message, DashboardDelta.class));
+        } catch (JsonProcessingException e) {
+            meterRegistry.counter("kafka.consumer.failures", "topic", "dashboard-updates").increment();
+            log.error("Error processing dashboard update", e);
+        }
+    }
+}
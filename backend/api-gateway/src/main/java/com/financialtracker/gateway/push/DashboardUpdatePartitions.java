@@ -0,0 +1,44 @@
+package com.financialtracker.gateway.push;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Looks up the update topic's partitions when the listener starts, so every gateway instance can
+ * assign itself all of them instead of joining a consumer group. Partitions added later are picked
+ * up on the next restart.
+ */
+@Component
+public class DashboardUpdatePartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardUpdatePartitions.class);
+
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+
+    public DashboardUpdatePartitions(ConsumerFactory<Object, Object> consumerFactory) {
+        this.consumerFactory = consumerFactory;
+    }
+
+    public String[] of(String topic) {
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic, LOOKUP_TIMEOUT);
+            if (partitions != null && !partitions.isEmpty()) {
+                return partitions.stream().map(p -> Integer.toString(p.partition())).toArray(String[]::new);
+            }
+            log.warn("Topic {} has no partitions yet, reading partition 0", topic);
+        } catch (KafkaException e) {
+            log.warn("Could not look up the partitions of {}, reading partition 0: {}", topic, e.toString());
+        }
+        return new String[]{"0"};
+    }
+}
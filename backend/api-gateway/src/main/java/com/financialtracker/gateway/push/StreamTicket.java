@@ -0,0 +1,7 @@
+package com.financialtracker.gateway.push;
+
+/**
+ * A ticket for opening {@code /api/updates?ticket=...}, valid for {@code expiresInSeconds}.
+ */
+public record StreamTicket(String ticket, long expiresInSeconds) {
+}
@@ -0,0 +1,35 @@
+package com.financialtracker.gateway.push;
+
+import com.financialtracker.gateway.filter.JwtAuthenticationFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Reached through the {@code /api/updates/ticket} route with the user's token in the Authorization
+ * header. {@code EventSource} cannot send that header, so the browser trades the token here for a
+ * short-lived ticket that only opens the update stream, and puts the ticket in the stream's URL.
+ */
+@RestController
+public class StreamTicketController {
+
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    public StreamTicketController(JwtAuthenticationFilter jwtAuthenticationFilter) {
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    }
+
+    @PostMapping("/push/ticket")
+    public StreamTicket ticket(ServerWebExchange exchange) {
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        String ticket = jwtAuthenticationFilter.issueStreamTicket(userId,
+                exchange.getRequest().getHeaders().getFirst("X-User-Email"),
+                exchange.getAttribute(JwtAuthenticationFilter.TOKEN_EXPIRY_ATTR));
+        return new StreamTicket(ticket, jwtAuthenticationFilter.getTicketTtl().toSeconds());
+    }
+}
@@ -0,0 +1,157 @@
+package com.financialtracker.gateway.concurrency;
+
+import com.financialtracker.gateway.concurrency.ServiceLimiter.Permit;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceLimiterTest {
+
+    private static final long LONG_WAIT = Duration.ofSeconds(10).toNanos();
+
+    @Test
+    void grantsUpToThePriorityShareOfTheLimit() {
+        ServiceLimiter limiter = limiter(2, LONG_WAIT);
+
+        assertThat(limiter.acquire(Priority.NORMAL).block().isGranted()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        // NORMAL may fill 80% of 2, so the second slot is left to CRITICAL
+        assertThat(limiter.acquire(Priority.CRITICAL).block().isGranted()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void queuedRequestIsGrantedWhenASlotFrees() {
+        ServiceLimiter limiter = limiter(1, LONG_WAIT);
+        Permit first = limiter.acquire(Priority.CRITICAL).block();
+
+        AtomicReference<Permit> waiting = new AtomicReference<>();
+        limiter.acquire(Priority.CRITICAL).subscribe(waiting::set);
+        assertThat(waiting.get()).isNull();
+        assertThat(limiter.getQueued()).isEqualTo(1);
+
+        first.complete(false);
+
+        assertThat(waiting.get().isGranted()).isTrue();
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedRequestIsRejectedWhenItsWaitExpires() {
+        ServiceLimiter limiter = limiter(1, Duration.ofMillis(50).toNanos());
+        limiter.acquire(Priority.CRITICAL).block();
+
+        StepVerifier.create(limiter.acquire(Priority.CRITICAL))
+                .expectNext(Permit.REJECTED)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void lowPriorityIsShedInsteadOfQueued() {
+        ServiceLimiter limiter = limiter(1, LONG_WAIT);
+        limiter.acquire(Priority.CRITICAL).block();
+
+        assertThat(limiter.acquire(Priority.LOW).block()).isSameAs(Permit.REJECTED);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void higherPriorityWaiterIsServedFirst() {
+        ServiceLimiter limiter = limiter(2, LONG_WAIT);
+        Permit first = limiter.acquire(Priority.CRITICAL).block();
+        limiter.acquire(Priority.CRITICAL).block();
+
+        List<Priority> granted = new ArrayList<>();
+        limiter.acquire(Priority.NORMAL).subscribe(permit -> granted.add(Priority.NORMAL));
+        limiter.acquire(Priority.CRITICAL).subscribe(permit -> granted.add(Priority.CRITICAL));
+        assertThat(limiter.getQueued()).isEqualTo(2);
+
+        first.complete(false);
+
+        assertThat(granted).containsExactly(Priority.CRITICAL);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void newcomerDoesNotOvertakeAWaiterOfEqualPriority() {
+        ServiceLimiter limiter = limiter(2, LONG_WAIT);
+        Permit first = limiter.acquire(Priority.CRITICAL).block();
+        limiter.acquire(Priority.CRITICAL).block();
+        AtomicReference<Permit> waiting = new AtomicReference<>();
+        limiter.acquire(Priority.CRITICAL).subscribe(waiting::set);
+
+        first.complete(false);
+        AtomicReference<Permit> newcomer = new AtomicReference<>();
+        limiter.acquire(Priority.CRITICAL).subscribe(newcomer::set);
+
+        assertThat(waiting.get().isGranted()).isTrue();
+        assertThat(newcomer.get()).isNull();
+        assertThat(limiter.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledWaiterLeavesTheQueueAndIsNeverGranted() {
+        ServiceLimiter limiter = limiter(1, LONG_WAIT);
+        Permit first = limiter.acquire(Priority.CRITICAL).block();
+        AtomicReference<Permit> waiting = new AtomicReference<>();
+        Disposable subscription = limiter.acquire(Priority.CRITICAL).subscribe(waiting::set);
+
+        subscription.dispose();
+        assertThat(limiter.getQueued()).isZero();
+
+        first.complete(false);
+
+        assertThat(waiting.get()).isNull();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void permitFreesItsSlotOnceWhicheverWayItEnds() {
+        ServiceLimiter limiter = limiter(2, LONG_WAIT);
+        Permit cancelledFirst = limiter.acquire(Priority.CRITICAL).block();
+        Permit completedFirst = limiter.acquire(Priority.CRITICAL).block();
+
+        cancelledFirst.cancel();
+        cancelledFirst.complete(true);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        completedFirst.complete(false);
+        completedFirst.cancel();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void cancelledPermitHandsItsSlotToAWaiter() {
+        ServiceLimiter limiter = limiter(1, LONG_WAIT);
+        Permit first = limiter.acquire(Priority.CRITICAL).block();
+        AtomicReference<Permit> waiting = new AtomicReference<>();
+        limiter.acquire(Priority.CRITICAL).subscribe(waiting::set);
+
+        first.cancel();
+
+        assertThat(waiting.get().isGranted()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    /**
+     * A limiter whose limit stays at {@code limit}: the window never closes, so no sample moves it.
+     */
+    private static ServiceLimiter limiter(int limit, long maxQueueWaitNanos) {
+        GradientLimit gradient = new GradientLimit(limit, 1, 100, 1.5, 0.2,
+                Long.MAX_VALUE, 10, System.nanoTime());
+        return new ServiceLimiter("test-service", gradient, 10, maxQueueWaitNanos);
+    }
+}
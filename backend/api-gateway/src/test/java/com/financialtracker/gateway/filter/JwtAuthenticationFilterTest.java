@@ -0,0 +1,130 @@
+package com.financialtracker.gateway.filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyForJwtAuthenticationFilterTest1234567890";
+    private static final Instant TOKEN_EXPIRY = Instant.now().plus(Duration.ofHours(1)).truncatedTo(ChronoUnit.SECONDS);
+
+    private final JwtAuthenticationFilter filter = filter();
+
+    @Test
+    void bearerTokenPassesWithTheUserHeaders() {
+        ServerWebExchange forwarded = run(false, MockServerHttpRequest.get("/api/transactions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token()));
+
+        assertThat(forwarded.getRequest().getHeaders().getFirst("X-User-Id")).isEqualTo("user-1");
+        assertThat(forwarded.<Instant>getAttribute(JwtAuthenticationFilter.TOKEN_EXPIRY_ATTR)).isEqualTo(TOKEN_EXPIRY);
+    }
+
+    @Test
+    void ticketOpensAStreamRouteAndIsStrippedFromTheUri() {
+        String ticket = filter.issueStreamTicket("user-1", "user@example.com", TOKEN_EXPIRY);
+
+        ServerWebExchange forwarded = run(true, MockServerHttpRequest.get("/api/updates")
+                .queryParam("since", "5")
+                .queryParam(JwtAuthenticationFilter.TICKET_PARAM, ticket));
+
+        assertThat(forwarded.<String>getAttribute(JwtAuthenticationFilter.USER_ID_ATTR)).isEqualTo("user-1");
+        assertThat(forwarded.<Instant>getAttribute(JwtAuthenticationFilter.TOKEN_EXPIRY_ATTR)).isEqualTo(TOKEN_EXPIRY);
+        assertThat(forwarded.getRequest().getURI().toString()).doesNotContain(ticket).endsWith("/api/updates?since=5");
+        assertThat(forwarded.getRequest().getQueryParams()).doesNotContainKey(JwtAuthenticationFilter.TICKET_PARAM);
+    }
+
+    @Test
+    void ticketIsRefusedAsABearerToken() {
+        String ticket = filter.issueStreamTicket("user-1", "user@example.com", TOKEN_EXPIRY);
+
+        assertRejected(false, MockServerHttpRequest.get("/api/transactions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + ticket));
+    }
+
+    @Test
+    void tokenIsRefusedInPlaceOfATicket() {
+        assertRejected(true, MockServerHttpRequest.get("/api/updates")
+                .queryParam(JwtAuthenticationFilter.TICKET_PARAM, token()));
+    }
+
+    @Test
+    void ticketIsRefusedOnRoutesWithoutStreamTickets() {
+        String ticket = filter.issueStreamTicket("user-1", "user@example.com", TOKEN_EXPIRY);
+
+        assertRejected(false, MockServerHttpRequest.get("/api/transactions")
+                .queryParam(JwtAuthenticationFilter.TICKET_PARAM, ticket));
+    }
+
+    @Test
+    void expiredTicketIsRefused() {
+        ReflectionTestUtils.setField(filter, "ticketTtl", Duration.ofSeconds(-1));
+        String ticket = filter.issueStreamTicket("user-1", "user@example.com", TOKEN_EXPIRY);
+
+        assertRejected(true, MockServerHttpRequest.get("/api/updates")
+                .queryParam(JwtAuthenticationFilter.TICKET_PARAM, ticket));
+    }
+
+    private ServerWebExchange run(boolean allowStreamTicket, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        gatewayFilter(allowStreamTicket).filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+        assertThat(forwarded.get()).as("request passed the filter").isNotNull();
+        return forwarded.get();
+    }
+
+    private void assertRejected(boolean allowStreamTicket, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        gatewayFilter(allowStreamTicket).filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private GatewayFilter gatewayFilter(boolean allowStreamTicket) {
+        JwtAuthenticationFilter.Config config = new JwtAuthenticationFilter.Config();
+        config.setAllowStreamTicket(allowStreamTicket);
+        return filter.apply(config);
+    }
+
+    private static String token() {
+        return Jwts.builder()
+                .setSubject("user-1")
+                .claim("email", "user@example.com")
+                .setExpiration(Date.from(TOKEN_EXPIRY))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static JwtAuthenticationFilter filter() {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(filter, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(filter, "ticketTtl", Duration.ofSeconds(30));
+        return filter;
+    }
+}
@@ -0,0 +1,118 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class InstanceStatsTest {
+
+    private static final double DECAY = 10e9;
+    private static final long MS = 1_000_000;
+    private static final long EJECTION = 30_000 * MS;
+
+    @Test
+    void slowerSampleReplacesTheAverageAtOnce() {
+        InstanceStats stats = stats(10 * MS);
+
+        stats.onSuccess(50 * MS, 0, DECAY);
+
+        assertThat(stats.latencyMillis(0, DECAY)).isCloseTo(50, within(1e-9));
+    }
+
+    @Test
+    void fasterSampleIsBlendedInByElapsedTime() {
+        InstanceStats stats = stats(50 * MS);
+
+        stats.onSuccess(10 * MS, 0, DECAY);
+        assertThat(stats.latencyMillis(0, DECAY)).isCloseTo(50, within(1e-9));
+
+        long later = (long) DECAY;
+        stats.onSuccess(10 * MS, later, DECAY);
+        double w = Math.exp(-1);
+        assertThat(stats.latencyMillis(later, DECAY)).isCloseTo(50 * w + 10 * (1 - w), within(1e-9));
+    }
+
+    @Test
+    void averageDecaysWhileNoSamplesArrive() {
+        InstanceStats stats = stats(100 * MS);
+
+        assertThat(stats.latencyMillis((long) DECAY, DECAY)).isCloseTo(100 * Math.exp(-1), within(1e-9));
+    }
+
+    @Test
+    void loadScalesWithRequestsInFlight() {
+        InstanceStats stats = stats(10 * MS);
+        stats.onStart(0);
+        stats.onStart(0);
+
+        assertThat(stats.load(0, DECAY)).isCloseTo(30 * MS, within(1e-3));
+
+        stats.release();
+        assertThat(stats.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void consecutiveFailuresEjectForAGrowingCappedTime() {
+        InstanceStats stats = stats(10 * MS);
+
+        assertThat(fail(stats, 4, 0)).isFalse();
+        assertThat(stats.onFailure(0, 5, EJECTION, 2)).isTrue();
+        assertThat(stats.isEjected(EJECTION - 1)).isTrue();
+        assertThat(stats.isEjected(EJECTION)).isFalse();
+
+        long second = EJECTION;
+        assertThat(fail(stats, 5, second)).isTrue();
+        assertThat(stats.isEjected(second + 2 * EJECTION - 1)).isTrue();
+        assertThat(stats.isEjected(second + 2 * EJECTION)).isFalse();
+
+        long third = second + 2 * EJECTION;
+        assertThat(fail(stats, 5, third)).isTrue();
+        assertThat(stats.isEjected(third + 2 * EJECTION)).isFalse();
+    }
+
+    @Test
+    void successResetsTheFailureStreak() {
+        InstanceStats stats = stats(10 * MS);
+
+        fail(stats, 4, 0);
+        stats.onSuccess(10 * MS, 0, DECAY);
+
+        assertThat(fail(stats, 4, 0)).isFalse();
+        assertThat(stats.isEjected(0)).isFalse();
+    }
+
+    @Test
+    void failuresWhileEjectedDoNotExtendTheEjection() {
+        InstanceStats stats = stats(10 * MS);
+        fail(stats, 5, 0);
+
+        assertThat(fail(stats, 10, 1)).isFalse();
+        assertThat(stats.isEjected(EJECTION)).isFalse();
+    }
+
+    @Test
+    void returningInstanceSlowStartsFromTheEndOfItsEjection() {
+        InstanceStats stats = stats(10 * MS);
+        long slowStart = 10_000 * MS;
+        fail(stats, 5, 0);
+
+        assertThat(stats.rampFactor(EJECTION, slowStart, 0.1)).isEqualTo(0.1);
+        assertThat(stats.rampFactor(EJECTION + slowStart / 2, slowStart, 0.1)).isCloseTo(0.5, within(1e-9));
+        assertThat(stats.rampFactor(EJECTION + slowStart, slowStart, 0.1)).isEqualTo(1.0);
+        assertThat(stats.rampFactor(0, 0, 0.1)).isEqualTo(1.0);
+    }
+
+    private static boolean fail(InstanceStats stats, int times, long now) {
+        boolean ejected = false;
+        for (int i = 0; i < times; i++) {
+            ejected = stats.onFailure(now, 5, EJECTION, 2);
+        }
+        return ejected;
+    }
+
+    private static InstanceStats stats(long seedNanos) {
+        return new InstanceStats(new DefaultServiceInstance("a", "svc", "host-a", 8080, false), seedNanos, 0);
+    }
+}
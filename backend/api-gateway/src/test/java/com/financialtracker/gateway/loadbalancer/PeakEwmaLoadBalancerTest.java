@@ -0,0 +1,161 @@
+package com.financialtracker.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PeakEwmaLoadBalancerTest {
+
+    private static final String SERVICE = "svc";
+    private static final long MS = 1_000_000;
+
+    private final ServiceInstance a = instance("a");
+    private final ServiceInstance b = instance("b");
+    private final ServiceInstance c = instance("c");
+
+    private InstanceStatsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // No slow start, so scores are latency times in-flight only
+        registry = new InstanceStatsRegistry(new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ZERO, 0.1,
+                5, Duration.ofSeconds(30), 10, 50);
+    }
+
+    @Test
+    void picksTheInstanceWithLowerLatency() {
+        PeakEwmaLoadBalancer balancer = balancer(List.of(a, b));
+        choose(balancer);
+        latency(a, 100);
+        latency(b, 10);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(choose(balancer)).isEqualTo(b);
+        }
+    }
+
+    @Test
+    void requestsInFlightOutweighLowerLatency() {
+        PeakEwmaLoadBalancer balancer = balancer(List.of(a, b));
+        choose(balancer);
+        latency(a, 10);
+        latency(b, 100);
+        for (int i = 0; i < 20; i++) {
+            registry.get(a).onStart(System.nanoTime());
+        }
+
+        // a: 10ms x 21 queued, b: 100ms x 1
+        assertThat(choose(balancer)).isEqualTo(b);
+    }
+
+    @Test
+    void comparesTwoRandomInstancesSoTheBestIsNotAlwaysChosen() {
+        PeakEwmaLoadBalancer balancer = balancer(List.of(a, b, c));
+        choose(balancer);
+        latency(a, 10);
+        latency(b, 50);
+        latency(c, 100);
+
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            chosen.add(choose(balancer));
+        }
+
+        // The slowest instance only wins a pair it is not in, and it is in every pair against itself
+        assertThat(chosen).containsExactlyInAnyOrder(a, b);
+    }
+
+    @Test
+    void skipsEjectedInstances() {
+        PeakEwmaLoadBalancer balancer = balancer(List.of(a, b, c));
+        choose(balancer);
+        latency(a, 100);
+        latency(b, 100);
+        latency(c, 1);
+        eject(c);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(choose(balancer)).isNotEqualTo(c);
+        }
+    }
+
+    @Test
+    void usesEjectedInstancesAgainWhenTooManyAreEjected() {
+        PeakEwmaLoadBalancer balancer = balancer(List.of(a, b, c));
+        choose(balancer);
+        latency(a, 100);
+        latency(b, 1);
+        latency(c, 1);
+        eject(b);
+        eject(c);
+
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            chosen.add(choose(balancer));
+        }
+
+        assertThat(chosen).contains(b, c);
+    }
+
+    @Test
+    void emptyInstanceListHasNoServer() {
+        PeakEwmaLoadBalancer balancer = balancer(List.of());
+
+        assertThat(balancer.choose(new DefaultRequest<>()).block().hasServer()).isFalse();
+    }
+
+    private void latency(ServiceInstance instance, long millis) {
+        registry.get(instance).onSuccess(millis * MS, System.nanoTime(), registry.decayNanos);
+    }
+
+    private void eject(ServiceInstance instance) {
+        InstanceStats stats = registry.get(instance);
+        for (int i = 0; i < registry.maxConsecutiveFailures; i++) {
+            stats.onFailure(System.nanoTime(), registry.maxConsecutiveFailures, registry.baseEjectionNanos,
+                    registry.maxEjectionMultiplier);
+        }
+        assertThat(stats.isEjected(System.nanoTime())).isTrue();
+    }
+
+    private static ServiceInstance choose(PeakEwmaLoadBalancer balancer) {
+        return balancer.choose(new DefaultRequest<>()).block().getServer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private PeakEwmaLoadBalancer balancer(List<ServiceInstance> instances) {
+        ServiceInstanceListSupplier supplier = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return SERVICE;
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        };
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(supplier);
+        return new PeakEwmaLoadBalancer(provider, SERVICE, registry);
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, SERVICE, host, 8080, false);
+    }
+}
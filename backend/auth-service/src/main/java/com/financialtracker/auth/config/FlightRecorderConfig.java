@@ -0,0 +1,17 @@
+package com.financialtracker.auth.config;
+
+import com.financialtracker.auth.jfr.BCryptEvent;
+import com.financialtracker.common.jfr.FlightRecorderEvents;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public FlightRecorderEvents flightRecorderEvents() {
+        return new FlightRecorderEvents(List.of(BCryptEvent.class));
+    }
+}
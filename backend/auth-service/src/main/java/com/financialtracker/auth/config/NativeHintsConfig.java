@@ -0,0 +1,54 @@
+package com.financialtracker.auth.config;
+
+import com.financialtracker.auth.dto.AuthResponse;
+import com.financialtracker.auth.dto.LoginRequest;
+import com.financialtracker.auth.dto.RegisterRequest;
+import com.financialtracker.auth.dto.UserDTO;
+import com.financialtracker.auth.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for the DTOs, the user document and jjwt, which loads its
+ * implementation and JSON serializer reflectively.
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        AuthResponse.class,
+        LoginRequest.class,
+        RegisterRequest.class,
+        UserDTO.class,
+        User.class
+})
+@ImportRuntimeHints(NativeHintsConfig.JjwtRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class JjwtRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String[] REFLECTIVE_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : REFLECTIVE_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        }
+    }
+}
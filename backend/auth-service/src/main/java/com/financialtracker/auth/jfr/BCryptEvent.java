@@ -0,0 +1,27 @@
+package com.financialtracker.auth.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("financialtracker.BCrypt")
+@Label("BCrypt")
+@Category({"Financial Tracker", "Security"})
+@Description("Hashing a password on registration or checking one on login")
+@StackTrace(false)
+public class BCryptEvent extends Event {
+
+    @Label("Operation")
+    @Description("hash or verify")
+    public String operation;
+
+    public static BCryptEvent start(String operation) {
+        BCryptEvent event = new BCryptEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
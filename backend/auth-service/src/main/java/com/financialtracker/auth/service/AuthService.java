@@ -1,6 +1,7 @@
 package com.financialtracker.auth.service;
 
 import com.financialtracker.auth.dto.*;
+import com.financialtracker.auth.jfr.BCryptEvent;
 import com.financialtracker.auth.model.User;
 import com.financialtracker.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +26,7 @@ public class AuthService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(hash(request.getPassword()));
         user.setCurrency(request.getCurrency());
         user.setTheme("light");
         user.setNotificationsEnabled(true);
@@ -44,7 +45,7 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid credentials");
         }
 
@@ -74,6 +75,24 @@ public class AuthService {
         return mapToDTO(user);
     }
 
+    private String hash(String password) {
+        BCryptEvent event = BCryptEvent.start("hash");
+        try {
+            return passwordEncoder.encode(password);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private boolean matches(String password, String hash) {
+        BCryptEvent event = BCryptEvent.start("verify");
+        try {
+            return passwordEncoder.matches(password, hash);
+        } finally {
+            event.commit();
+        }
+    }
+
     private UserDTO mapToDTO(User user) {
         return new UserDTO(
                 user.getId(),
@@ -4,6 +4,9 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -14,8 +17,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -26,13 +32,16 @@ public class JwtService {
         Map<String, Object> claims = new HashMap<>();
         claims.put("email", email);
         
-        return Jwts.builder()
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String token = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                 .compact();
+        sample.stop(meterRegistry.timer("jwt.sign"));
+        return token;
     }
 
     public String extractUserId(String token) {
@@ -53,11 +62,19 @@ public class JwtService {
     }
 
     private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            outcome = "valid";
+            return claims;
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.verify", "outcome", outcome));
+        }
     }
 
     private SecretKey getSigningKey() {
@@ -0,0 +1,10 @@
+#!/bin/bash
+
+# Build and run the JMH suites with the GC profiler (allocation rate per operation).
+# Extra arguments are passed to JMH, e.g. ./run-benchmarks.sh TransactionServiceBenchmark -f 3
+
+set -e
+cd "$(dirname "$0")"
+
+mvn -q clean package
+java -jar target/benchmarks.jar -prof gc -rf json -rff target/jmh-result.json "$@"
@@ -0,0 +1,65 @@
+package com.financialtracker.benchmarks;
+
+import com.financialtracker.analytics.dto.Report;
+import com.financialtracker.analytics.kafka.TransactionEvent;
+import com.financialtracker.analytics.repository.BudgetAlertRepository;
+import com.financialtracker.analytics.repository.BudgetOffsetCheckpointRepository;
+import com.financialtracker.analytics.repository.BudgetRepository;
+import com.financialtracker.analytics.repository.BudgetSpendCheckpointRepository;
+import com.financialtracker.analytics.repository.SpendingAnomalyRepository;
+import com.financialtracker.analytics.service.AnalyticsService;
+import com.financialtracker.analytics.service.BudgetEvaluator;
+import com.financialtracker.transaction.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int transactionCount;
+
+    private AnalyticsService analyticsService;
+
+    @Setup
+    public void setup() {
+        SpendingAnomalyRepository anomalies = BenchmarkFixtures.emptyRepository(SpendingAnomalyRepository.class);
+        BudgetEvaluator evaluator = new BudgetEvaluator(
+                BenchmarkFixtures.emptyRepository(BudgetRepository.class),
+                BenchmarkFixtures.emptyRepository(BudgetAlertRepository.class),
+                BenchmarkFixtures.emptyRepository(BudgetSpendCheckpointRepository.class),
+                BenchmarkFixtures.emptyRepository(BudgetOffsetCheckpointRepository.class),
+                anomalies, null, null, new SimpleMeterRegistry());
+        BenchmarkFixtures.setField(evaluator, "retentionMonths", 6);
+        BenchmarkFixtures.setField(evaluator, "anomalyPercentile", 0.99);
+        BenchmarkFixtures.setField(evaluator, "minSamples", 20L);
+
+        // Fold the fixture history into the evaluator's sketches, dated into the current month
+        List<Transaction> transactions = BenchmarkFixtures.transactions(transactionCount);
+        String today = LocalDate.now().toString();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction t = transactions.get(i);
+            evaluator.onEvent(new TransactionEvent("CREATED", t.getId(), t.getUserId(), t.getType(), t.getCategory(),
+                    t.getAmount(), today, null, null, null, null), 0, i);
+        }
+
+        analyticsService = new AnalyticsService(evaluator, anomalies);
+        BenchmarkFixtures.setField(analyticsService, "minSamples", 20L);
+    }
+
+    // Covers getCategoryBreakdown, getTrendData and the private generateInsights, including
+    // merging the per-category spend sketches into percentile insights
+    @Benchmark
+    public Report getReport() {
+        return analyticsService.getReport(BenchmarkFixtures.USER_ID, "monthly");
+    }
+}
@@ -0,0 +1,64 @@
+package com.financialtracker.benchmarks;
+
+import com.financialtracker.transaction.service.BalanceTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BalanceTreeBenchmark {
+
+    @Param({"365", "3650"})
+    private int historyDays;
+
+    private BalanceTree tree;
+    private long[] deltas;
+    private long[] seriesDays;
+    private long today;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        today = 20_000;
+        long first = today - historyDays;
+        Map<Long, Long> days = new HashMap<>();
+        deltas = new long[historyDays];
+        for (int i = 0; i < historyDays; i++) {
+            deltas[i] = random.nextInt(20_000) - 10_000;
+            days.put(first + i, deltas[i]);
+        }
+        tree = BalanceTree.of(days, today, 0);
+        // One point per day over the last year, as a balance chart asks for
+        seriesDays = new long[365];
+        for (int i = 0; i < seriesDays.length; i++) {
+            seriesDays[i] = today - seriesDays.length + i;
+        }
+    }
+
+    @Benchmark
+    public long[] fenwickSeries() {
+        return tree.balancesAt(seriesDays);
+    }
+
+    @Benchmark
+    public long[] scanSeries() {
+        long first = today - historyDays;
+        long[] balances = new long[seriesDays.length];
+        for (int k = 0; k < seriesDays.length; k++) {
+            long sum = 0;
+            for (int i = 0; i < deltas.length && first + i <= seriesDays[k]; i++) {
+                sum += deltas[i];
+            }
+            balances[k] = sum;
+        }
+        return balances;
+    }
+}
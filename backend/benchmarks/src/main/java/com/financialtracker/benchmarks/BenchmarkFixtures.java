@@ -0,0 +1,126 @@
+package com.financialtracker.benchmarks;
+
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.repository.TransactionRepository;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "financialTrackerSecretKeyForJWTTokenGeneration123456789";
+    static final String USER_ID = "user-1";
+
+    private static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Bills", "Salary", "Freelance"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    static List<Transaction> transactions(int count) {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean income = random.nextInt(4) == 0;
+            Transaction t = new Transaction();
+            t.setId(Integer.toHexString(i));
+            t.setUserId(USER_ID);
+            t.setType(income ? "INCOME" : "EXPENSE");
+            t.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            t.setAmount(Math.round(random.nextDouble() * 50000) / 100.0);
+            t.setDate(start.plusDays(random.nextInt(365)));
+            t.setDescription("Payment " + i);
+            t.setNotes(i % 3 == 0 ? "note " + i : null);
+            t.setCreatedAt(LocalDateTime.now());
+            t.setUpdatedAt(LocalDateTime.now());
+            transactions.add(t);
+        }
+        return transactions;
+    }
+
+    /**
+     * Repository stub that answers every user-scoped finder with the given list, so the
+     * benchmark measures mapping and reduction rather than Mongo.
+     */
+    static TransactionRepository repositoryReturning(List<Transaction> transactions) {
+        return (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(),
+                new Class<?>[]{TransactionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserId", "findByUserIdAndType", "findByUserIdAndCategory",
+                            "findByUserIdAndDateBetween" -> transactions;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TransactionRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Repository stub that finds nothing and accepts every save, for services whose Mongo
+     * round trips are not what the benchmark measures.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R emptyRepository(Class<R> repositoryType) {
+        return (R) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save", "saveAll" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> repositoryType.getSimpleName() + "Stub";
+                    default -> method.getReturnType() == Optional.class ? Optional.empty()
+                            : List.class.isAssignableFrom(method.getReturnType()) ? List.of()
+                            : null;
+                });
+    }
+
+    static KafkaTemplate<String, String> kafkaTemplate() {
+        ReusableMockProducer producer = new ReusableMockProducer();
+        ProducerFactory<String, String> producerFactory = () -> producer;
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * KafkaTemplate closes non-pooled producers after every send; keep the mock open and
+     * drop its send history instead so it doesn't grow for the whole run.
+     */
+    private static final class ReusableMockProducer extends MockProducer<String, String> {
+
+        ReusableMockProducer() {
+            super(true, new StringSerializer(), new StringSerializer());
+        }
+
+        @Override
+        public void close() {
+            clear();
+        }
+
+        @Override
+        public void close(Duration timeout) {
+            clear();
+        }
+    }
+}
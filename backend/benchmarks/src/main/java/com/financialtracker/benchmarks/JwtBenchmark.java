@@ -0,0 +1,60 @@
+package com.financialtracker.benchmarks;
+
+import com.financialtracker.auth.service.JwtService;
+import com.financialtracker.gateway.filter.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private GatewayFilter gatewayFilter;
+    private GatewayFilterChain chain;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        BenchmarkFixtures.setField(jwtService, "jwtSecret", BenchmarkFixtures.JWT_SECRET);
+        BenchmarkFixtures.setField(jwtService, "jwtExpiration", 86400000L);
+        token = jwtService.generateToken(BenchmarkFixtures.USER_ID, "user@example.com");
+
+        JwtAuthenticationFilter filterFactory = new JwtAuthenticationFilter(ObservationRegistry.NOOP);
+        BenchmarkFixtures.setField(filterFactory, "jwtSecret", BenchmarkFixtures.JWT_SECRET);
+        gatewayFilter = filterFactory.apply(new JwtAuthenticationFilter.Config());
+        chain = exchange -> Mono.empty();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(BenchmarkFixtures.USER_ID, "user@example.com");
+    }
+
+    @Benchmark
+    public String serviceExtractUserId() {
+        return jwtService.extractUserId(token);
+    }
+
+    @Benchmark
+    public MockServerWebExchange gatewayFilter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/transactions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        gatewayFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,71 @@
+package com.financialtracker.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financialtracker.common.jackson.JacksonMappers;
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.repository.DocumentTransactionStore;
+import com.financialtracker.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of the transaction list payload per wire format; {@code plain-json} is the
+ * mapper as configured before Blackbird, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListSerializationBenchmark {
+
+    @Param({"plain-json", "json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int transactionCount;
+
+    private List<TransactionDTO> transactions;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        transactions = new TransactionService(
+                new DocumentTransactionStore(
+                        BenchmarkFixtures.repositoryReturning(BenchmarkFixtures.transactions(transactionCount))), null, null)
+                .getAllTransactions(BenchmarkFixtures.USER_ID);
+        ObjectMapper mapper = switch (format) {
+            case "plain-json" -> new ObjectMapper().registerModule(new JavaTimeModule());
+            case "json" -> JacksonMappers.configure(new ObjectMapper());
+            case "cbor" -> JacksonMappers.configure(new CBORMapper());
+            case "smile" -> JacksonMappers.configure(new SmileMapper());
+            default -> throw new IllegalArgumentException(format);
+        };
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, TransactionDTO.class);
+        writer = mapper.writerFor(listType);
+        reader = mapper.readerFor(listType);
+        payload = writer.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public List<TransactionDTO> deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,59 @@
+package com.financialtracker.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.analytics.kafka.KafkaConsumerService;
+import com.financialtracker.common.jackson.JacksonMappers;
+import com.financialtracker.transaction.kafka.KafkaProducerService;
+import com.financialtracker.transaction.kafka.TransactionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionEventBenchmark {
+
+    private ObjectMapper objectMapper;
+    private KafkaProducerService producerService;
+    private KafkaConsumerService consumerService;
+    private TransactionEvent event;
+    private String message;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = JacksonMappers.configure(new ObjectMapper());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        producerService = new KafkaProducerService(BenchmarkFixtures.kafkaTemplate(), objectMapper, meterRegistry);
+        consumerService = new KafkaConsumerService(JacksonMappers.configure(new ObjectMapper()), meterRegistry,
+                BenchmarkFixtures.kafkaTemplate());
+        event = new TransactionEvent("CREATED", "65a1f0c2e4b0a1b2c3d4e5f6", BenchmarkFixtures.USER_ID,
+                "EXPENSE", "Food", 42.5, "2024-03-15");
+        message = objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public com.financialtracker.analytics.kafka.TransactionEvent deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(message, com.financialtracker.analytics.kafka.TransactionEvent.class);
+    }
+
+    @Benchmark
+    public void producerSend() {
+        producerService.sendTransactionEvent(event);
+    }
+
+    @Benchmark
+    public void consumerConsume() {
+        consumerService.consumeTransactionEvent(message, System.currentTimeMillis());
+    }
+}
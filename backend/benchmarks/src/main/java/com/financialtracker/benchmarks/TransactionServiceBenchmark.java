@@ -0,0 +1,42 @@
+package com.financialtracker.benchmarks;
+
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.repository.DocumentTransactionStore;
+import com.financialtracker.transaction.dto.TransactionStats;
+import com.financialtracker.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int transactionCount;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setup() {
+        transactionService = new TransactionService(
+                new DocumentTransactionStore(
+                        BenchmarkFixtures.repositoryReturning(BenchmarkFixtures.transactions(transactionCount))),
+                null, null);
+    }
+
+    @Benchmark
+    public List<TransactionDTO> mapToDTO() {
+        return transactionService.getAllTransactions(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public TransactionStats getStats() {
+        return transactionService.getStats(BenchmarkFixtures.USER_ID);
+    }
+}
@@ -4,6 +4,7 @@ REM Build script for all microservices (Windows)
 echo Building Financial Tracker Microservices...
 echo ================================================
 
+call :build_service common install
 call :build_service eureka-server
 call :build_service api-gateway
 call :build_service auth-service
@@ -24,7 +25,9 @@ goto :eof
 echo.
 echo Building %1...
 cd %1
-call mvn clean package -DskipTests
+set goal=%2
+if "%goal%"=="" set goal=package
+call mvn clean %goal% -DskipTests
 if errorlevel 1 (
     echo Failed to build %1
     exit /b 1
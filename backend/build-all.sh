@@ -13,11 +13,12 @@ NC='\033[0m' # No Color
 # Function to build a service
 build_service() {
     local service_name=$1
+    local goal=${2:-package}
     echo ""
     echo "📦 Building $service_name..."
     cd $service_name
     
-    if mvn clean package -DskipTests; then
+    if mvn clean $goal -DskipTests; then
         echo -e "${GREEN}✅ $service_name built successfully${NC}"
     else
         echo -e "${RED}❌ Failed to build $service_name${NC}"
@@ -27,7 +28,8 @@ build_service() {
     cd ..
 }
 
-# Build all services
+# Build all services; common is installed first because the services depend on it
+build_service "common" install
 build_service "eureka-server"
 build_service "api-gateway"
 build_service "auth-service"
@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Builds AOT-processed services and an AppCDS archive for each one.
+# Usage: ./build-cds.sh [service-name ...]   (defaults to all services)
+#
+# Output per service in [service-name]/target/cds:
+#   application.jar + lib/   unpacked classpath (CDS cannot archive classes from nested jars)
+#   app.jsa                  class data archive from a training run that exits after context refresh
+#   run.sh                   starts the service with the archive and AOT initialization
+
+set -e
+cd "$(dirname "$0")"
+
+GREEN='\033[0;32m'
+NC='\033[0m' # No Color
+
+SERVICES=${*:-eureka-server api-gateway auth-service transaction-service analytics-service}
+
+(cd common && mvn -q clean install -DskipTests)
+
+for service in $SERVICES; do
+    echo ""
+    echo "📦 Building $service with AOT + CDS..."
+    (cd "$service" && mvn -q clean package -Paot -DskipTests)
+
+    out="$service/target/cds"
+    rm -rf "$out"
+    mkdir -p "$out/unpacked" "$out/lib"
+    (cd "$out/unpacked" && jar -xf "../../$service-1.0.0.jar")
+
+    jar -cf "$out/application.jar" -C "$out/unpacked/BOOT-INF/classes" .
+    cp "$out"/unpacked/BOOT-INF/lib/*.jar "$out/lib/"
+    main_class=$(grep '^Start-Class:' "$out/unpacked/META-INF/MANIFEST.MF" | cut -d' ' -f2 | tr -d '\r')
+    # classpath.idx keeps the dependency order stable between training and runtime
+    classpath="application.jar:$(sed -n 's#^- "BOOT-INF/lib/\(.*\)"$#lib/\1#p' "$out/unpacked/BOOT-INF/classpath.idx" | paste -sd: -)"
+    rm -rf "$out/unpacked"
+
+    cat > "$out/run.sh" <<RUN
+#!/bin/bash
+cd "\$(dirname "\$0")"
+exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true \$JAVA_OPTS -cp "$classpath" $main_class "\$@"
+RUN
+    chmod +x "$out/run.sh"
+
+    (cd "$out" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -cp "$classpath" "$main_class" > training.log 2>&1)
+    echo -e "${GREEN}✅ $service archive: $out/app.jsa${NC}"
+done
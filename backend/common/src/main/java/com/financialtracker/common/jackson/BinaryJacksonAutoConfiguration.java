@@ -0,0 +1,73 @@
+package com.financialtracker.common.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * JSON stays the default; callers that send {@code Accept: application/cbor} or
+ * {@code application/x-jackson-smile} get the same model in a binary encoding. Applies to servlet
+ * services that have both binary formats on the classpath. The repo's mapper settings go in through
+ * Boot's {@link Jackson2ObjectMapperBuilder}, so Boot still owns the {@code ObjectMapper},
+ * {@code spring.jackson.*} applies to all three formats and a service can declare its own mapper.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class, before = HttpMessageConvertersAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({CBORMapper.class, SmileMapper.class})
+public class BinaryJacksonAutoConfiguration {
+
+    /**
+     * Runs before Boot's own customizer, so {@code spring.jackson.*} can still override these defaults.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public Jackson2ObjectMapperBuilderCustomizer binaryJacksonCustomizer() {
+        return builder -> builder
+                .featuresToDisable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                // Added after Boot installs the modules it finds, which would replace a module list set here
+                .postConfigurer(JacksonMappers::registerBlackbird);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Builds the serializers for the service's {@link JacksonWarmTypes} at startup rather than on the
+     * first request of each kind.
+     */
+    @Bean
+    public SmartInitializingSingleton jacksonWarmup(ObjectProvider<JacksonWarmTypes> warmTypes,
+                                                    List<AbstractJackson2HttpMessageConverter> converters) {
+        return () -> warmTypes.ifAvailable(types ->
+                converters.forEach(converter -> JacksonMappers.warm(converter.getObjectMapper(), types.types())));
+    }
+}
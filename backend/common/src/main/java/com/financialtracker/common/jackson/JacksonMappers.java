@@ -0,0 +1,55 @@
+package com.financialtracker.common.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.core.NativeDetector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+public final class JacksonMappers {
+
+    private JacksonMappers() {
+    }
+
+    public static <M extends ObjectMapper> M configure(M mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        // Producers may add event fields before a consumer knows about them
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        registerBlackbird(mapper);
+        return mapper;
+    }
+
+    /**
+     * Replaces reflective getters/setters with generated lambdas; not possible in a native image, so
+     * skipped there.
+     */
+    public static void registerBlackbird(ObjectMapper mapper) {
+        if (!NativeDetector.inNativeImage()) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+    }
+
+    /**
+     * Builds the serializers and deserializers (and Blackbird accessors) for each type and a list of it
+     * by round-tripping a default instance.
+     */
+    public static void warm(ObjectMapper mapper, List<Class<?>> types) {
+        try {
+            for (Class<?> type : types) {
+                Object sample = type.getDeclaredConstructor().newInstance();
+                mapper.readValue(mapper.writeValueAsBytes(sample), type);
+                JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+                mapper.readValue(mapper.writerFor(listType).writeValueAsBytes(List.of(sample)), listType);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate type for serializer warm-up", e);
+        }
+    }
+}
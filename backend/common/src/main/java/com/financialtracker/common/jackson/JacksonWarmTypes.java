@@ -0,0 +1,10 @@
+package com.financialtracker.common.jackson;
+
+import java.util.List;
+
+/**
+ * The response and event types a service warms its mappers for at startup; each needs a no-args
+ * constructor.
+ */
+public record JacksonWarmTypes(List<Class<?>> types) {
+}
@@ -0,0 +1,136 @@
+package com.financialtracker.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a flight recording running with the JDK's low-overhead {@code default} settings plus the
+ * service's own events, and writes what it holds to {@code flight-recorder.directory} on a fixed
+ * interval (with scheduling enabled, as every service has it), on shutdown and on request through
+ * {@code /actuator/flightrecording}. Only the newest dumps are kept, so a latency spike can be
+ * looked at afterwards without attaching to the process.
+ */
+public class ContinuousRecording {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final String applicationName;
+    private final Map<Class<? extends Event>, Duration> thresholds;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Path directory;
+    private final int maxDumps;
+
+    private Recording recording;
+
+    /**
+     * @param thresholds the service's own events, each with the shortest duration that gets recorded
+     */
+    public ContinuousRecording(String applicationName, Map<Class<? extends Event>, Duration> thresholds,
+                               String settings, Duration maxAge, DataSize maxSize, Path directory, int maxDumps) {
+        this.applicationName = applicationName;
+        this.thresholds = thresholds;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.directory = directory;
+        this.maxDumps = maxDumps;
+    }
+
+    public void start() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight recorder is not available in this runtime; continuous recording disabled");
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            log.warn("Cannot load flight recorder settings '{}'; continuous recording disabled", settings, e);
+            return;
+        }
+        recording.setName(applicationName + "-continuous");
+        thresholds.forEach((event, threshold) -> recording.enable(event).withThreshold(threshold));
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("Continuous flight recording started (settings {}, last {}, dumps to {})",
+                settings, maxAge, directory.toAbsolutePath());
+    }
+
+    @Scheduled(initialDelayString = "${flight-recorder.dump-interval:PT15M}",
+            fixedDelayString = "${flight-recorder.dump-interval:PT15M}")
+    public void scheduledDump() {
+        try {
+            dump("scheduled");
+        } catch (IOException e) {
+            log.warn("Scheduled flight recording dump failed", e);
+        }
+    }
+
+    /**
+     * Writes everything the recording currently holds to a new file and prunes old dumps.
+     */
+    public synchronized Path dump(String reason) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Continuous flight recording is not running");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(applicationName + "-" + LocalDateTime.now().format(TIMESTAMP) + "-" + reason + ".jfr");
+        recording.dump(file);
+        List<Path> dumps = dumps();
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            Files.deleteIfExists(old);
+        }
+        return file;
+    }
+
+    /**
+     * This service's dumps, oldest first.
+     */
+    public List<Path> dumps() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(applicationName + "-"))
+                    .filter(f -> f.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(f -> f.getFileName().toString()))
+                    .toList();
+        }
+    }
+
+    public void stop() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            dump("shutdown");
+        } catch (IOException e) {
+            log.warn("Flight recording dump on shutdown failed", e);
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.financialtracker.common.jfr;
+
+import jdk.jfr.Event;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@AutoConfiguration
+@ConditionalOnProperty(name = "flight-recorder.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderAutoConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ContinuousRecording continuousRecording(
+            ObjectProvider<FlightRecorderEvents> events,
+            @Value("${spring.application.name}") String applicationName,
+            @Value("${flight-recorder.settings:default}") String settings,
+            @Value("${flight-recorder.threshold:1ms}") Duration threshold,
+            @Value("${flight-recorder.max-age:20m}") Duration maxAge,
+            @Value("${flight-recorder.max-size:100MB}") DataSize maxSize,
+            @Value("${flight-recorder.directory:jfr}") Path directory,
+            @Value("${flight-recorder.max-dumps:8}") int maxDumps) {
+        Map<Class<? extends Event>, Duration> thresholds = new LinkedHashMap<>();
+        events.forEach(e -> e.events().forEach(event ->
+                thresholds.put(event, e.threshold() != null ? e.threshold() : threshold)));
+        return new ContinuousRecording(applicationName, thresholds, settings, maxAge, maxSize, directory, maxDumps);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @RegisterReflectionForBinding(FlightRecordingDump.class)
+    static class EndpointConfiguration {
+
+        @Bean
+        public FlightRecordingEndpoint flightRecordingEndpoint(ContinuousRecording recording) {
+            return new FlightRecordingEndpoint(recording);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.financialtracker.common.jfr;
+
+import jdk.jfr.Event;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The service's own events the continuous recording enables, on top of the JDK's settings. Each is
+ * recorded when it takes at least {@code threshold}, or {@code flight-recorder.threshold} when that
+ * is null; events that are nearly always fast but worth counting use {@link Duration#ZERO}.
+ */
+public record FlightRecorderEvents(List<Class<? extends Event>> events, Duration threshold) {
+
+    public FlightRecorderEvents(List<Class<? extends Event>> events) {
+        this(events, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.financialtracker.common.jfr;
+
+import java.time.Instant;
+
+public record FlightRecordingDump(String file, long sizeBytes, Instant createdAt) {
+}
@@ -0,0 +1,52 @@
+package com.financialtracker.common.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code /actuator/flightrecording}: GET lists the dumps on disk, POST writes a new one from the
+ * continuous recording. Dumps are named relative to {@code flight-recorder.directory}.
+ */
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private final ContinuousRecording recording;
+
+    public FlightRecordingEndpoint(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation
+    public List<FlightRecordingDump> dumps() {
+        try {
+            List<FlightRecordingDump> dumps = new ArrayList<>();
+            for (Path file : recording.dumps()) {
+                dumps.add(describe(file));
+            }
+            return dumps;
+        } catch (IOException e) {
+            throw new RuntimeException("Error listing flight recording dumps", e);
+        }
+    }
+
+    @WriteOperation
+    public FlightRecordingDump dump() {
+        try {
+            return describe(recording.dump("manual"));
+        } catch (IOException e) {
+            throw new RuntimeException("Error dumping flight recording", e);
+        }
+    }
+
+    private static FlightRecordingDump describe(Path file) throws IOException {
+        return new FlightRecordingDump(file.getFileName().toString(), Files.size(file),
+                Files.getLastModifiedTime(file).toInstant());
+    }
+}
@@ -0,0 +1,51 @@
+package com.financialtracker.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.kafka.support.SendResult;
+
+@Name("financialtracker.KafkaSend")
+@Label("Kafka Send")
+@Category({"Financial Tracker", "Kafka"})
+@Description("A Kafka record from send until the broker acknowledged or the send failed")
+@StackTrace(false)
+public class KafkaSendEvent extends Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Partition")
+    public int partition = -1;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes = -1;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    public static KafkaSendEvent start(String topic) {
+        KafkaSendEvent event = new KafkaSendEvent();
+        event.topic = topic;
+        event.begin();
+        return event;
+    }
+
+    public void complete(SendResult<?, ?> result, Throwable error) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        succeeded = error == null && result != null;
+        if (succeeded && result.getRecordMetadata() != null) {
+            partition = result.getRecordMetadata().partition();
+            payloadBytes = result.getRecordMetadata().serializedValueSize();
+        }
+        commit();
+    }
+}
@@ -0,0 +1,22 @@
+package com.financialtracker.common.threads;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.pinning-diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class PinningDiagnosticsAutoConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${threads.pinning-diagnostics.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -0,0 +1,54 @@
+package com.financialtracker.common.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Wraps every blocking Spring Data repository so each query shows up as a span named and tagged
+ * with the repository and method. Only a span is made: the timing is already in Spring Data's
+ * {@code spring.data.repository.invocations} metric.
+ */
+class RepositorySpanPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    RepositorySpanPostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, info) -> {
+                if (!info.isReactiveRepository()) {
+                    proxyFactory.addAdvice(spanInterceptor(info.getRepositoryInterface().getSimpleName()));
+                }
+            }));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor spanInterceptor(String repository) {
+        return invocation -> {
+            Tracer current = tracer.getIfAvailable(() -> Tracer.NOOP);
+            String method = invocation.getMethod().getName();
+            Span span = current.nextSpan()
+                    .name(repository + "." + method)
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .start();
+            try (Tracer.SpanInScope scope = current.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        };
+    }
+}
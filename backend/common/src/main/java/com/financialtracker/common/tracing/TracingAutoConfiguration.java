@@ -0,0 +1,39 @@
+package com.financialtracker.common.tracing;
+
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@AutoConfiguration
+@ConditionalOnClass(Tracer.class)
+public class TracingAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(LoggingSpanExporter.class)
+    static class LogExporterConfiguration {
+
+        @Bean
+        @ConditionalOnProperty(name = "tracing.log-exporter.enabled", havingValue = "true")
+        public SpanExporter loggingSpanExporter() {
+            return LoggingSpanExporter.create();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+    static class RepositorySpanConfiguration {
+
+        @Bean
+        public static BeanPostProcessor repositorySpanPostProcessor(ObjectProvider<Tracer> tracer) {
+            return new RepositorySpanPostProcessor(tracer);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+#!/bin/bash
+
+# Builds all services and the harness, then runs the end-to-end load test.
+# Settings are system properties, e.g.
+#   ./run-load-test.sh -Drate=300 -Dduration=120s -Dusers=200 -Dmix=CREATE:40,LIST:30,STATS:20,REPORT:10
+
+set -e
+cd "$(dirname "$0")"
+
+(cd .. && ./build-all.sh)
+mvn -q clean package -DskipTests
+java "$@" -Dservices.dir=.. -jar target/load-test-1.0.0.jar
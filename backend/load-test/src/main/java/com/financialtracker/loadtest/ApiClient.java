@@ -0,0 +1,110 @@
+package com.financialtracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Issues the dashboard traffic against the gateway.
+ */
+public class ApiClient {
+
+    private static final String[] EXPENSE_CATEGORIES = {"Food", "Transport", "Shopping", "Bills"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String gatewayUrl;
+
+    public ApiClient(String gatewayUrl) {
+        this.gatewayUrl = gatewayUrl;
+    }
+
+    public record User(String email, String password, String token) {
+    }
+
+    public User register(int index) throws IOException, InterruptedException {
+        String email = "loadtest-" + index + "@example.com";
+        String password = "password-" + index;
+        String body = objectMapper.writeValueAsString(Map.of("name", "Load Test " + index, "email", email, "password", password));
+        HttpResponse<String> response = httpClient.send(json("/api/auth/register", body, null), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            // Already registered by an earlier attempt
+            response = httpClient.send(json("/api/auth/login", loginBody(email, password), null), HttpResponse.BodyHandlers.ofString());
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Cannot register " + email + ": HTTP " + response.statusCode());
+        }
+        JsonNode node = objectMapper.readTree(response.body());
+        return new User(email, password, node.get("token").asText());
+    }
+
+    public CompletableFuture<HttpResponse<Void>> send(Route route, User user) {
+        HttpRequest request = switch (route) {
+            case LOGIN -> json("/api/auth/login", loginBody(user.email(), user.password()), null);
+            case CREATE -> json("/api/transactions", randomTransaction(), user.token());
+            case LIST -> get("/api/transactions", user.token());
+            case STATS -> get("/api/transactions/stats", user.token());
+            case REPORT -> get("/api/analytics/report?period=monthly", user.token());
+        };
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    public int probe(String path, String token) throws IOException, InterruptedException {
+        return httpClient.send(get(path, token), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String loginBody(String email, String password) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String randomTransaction() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean income = random.nextInt(5) == 0;
+        Map<String, Object> body = Map.of(
+                "type", income ? "INCOME" : "EXPENSE",
+                "category", income ? "Salary" : EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)],
+                "amount", Math.round(random.nextDouble(1, 500) * 100) / 100.0,
+                "date", LocalDate.now().minusDays(random.nextInt(90)).toString(),
+                "description", "Load test payee " + random.nextInt(1000));
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest json(String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+}
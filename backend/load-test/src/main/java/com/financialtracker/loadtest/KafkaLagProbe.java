@@ -0,0 +1,66 @@
+package com.financialtracker.loadtest;
+
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end lag on transaction-events: time from the producer's record
+ * timestamp in transaction-service until a consumer in its own group receives it.
+ */
+public class KafkaLagProbe implements AutoCloseable {
+
+    private final KafkaConsumer<String, String> consumer;
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(2), 3);
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public KafkaLagProbe(String bootstrapServers) {
+        consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "load-test-lag-probe",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class));
+        thread = new Thread(this::poll, "kafka-lag-probe");
+    }
+
+    public void start() {
+        consumer.subscribe(List.of(StandIns.TOPIC));
+        thread.start();
+    }
+
+    public Recorder getRecorder() {
+        return recorder;
+    }
+
+    private void poll() {
+        try {
+            while (running) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(200))) {
+                    long lagMicros = (System.currentTimeMillis() - record.timestamp()) * 1000;
+                    recorder.recordValue(Math.max(0, Math.min(lagMicros, TimeUnit.MINUTES.toMicros(2))));
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing
+        } finally {
+            consumer.close();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        consumer.wakeup();
+        thread.join();
+    }
+}
@@ -0,0 +1,51 @@
+package com.financialtracker.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Prints a percentile summary per route and writes full HdrHistogram distributions
+ * (.hgrm, plottable with the HdrHistogram plotter) next to it.
+ */
+public class LatencyReport {
+
+    private static final String ROW = "%-30s %9s %9s %9s %9s %9s %9s %8s%n";
+
+    private final Path outputDir;
+    private final PrintStream out;
+
+    public LatencyReport(Path outputDir, PrintStream out) {
+        this.outputDir = outputDir;
+        this.out = out;
+    }
+
+    public void printHeader(String unit) {
+        out.printf(ROW, "route (" + unit + ")", "count", "p50", "p90", "p99", "p99.9", "max", "errors");
+    }
+
+    public void printRow(String name, Histogram histogram, double unitScale, long errors) throws IOException {
+        out.printf(ROW, name,
+                histogram.getTotalCount(),
+                format(histogram.getValueAtPercentile(50), unitScale),
+                format(histogram.getValueAtPercentile(90), unitScale),
+                format(histogram.getValueAtPercentile(99), unitScale),
+                format(histogram.getValueAtPercentile(99.9), unitScale),
+                format(histogram.getMaxValue(), unitScale),
+                errors);
+
+        Files.createDirectories(outputDir);
+        Path file = outputDir.resolve(name.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm");
+        try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(hgrm, unitScale);
+        }
+    }
+
+    private static String format(long value, double unitScale) {
+        return String.format(Locale.ROOT, "%.2f", value / unitScale);
+    }
+}
@@ -0,0 +1,84 @@
+package com.financialtracker.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class LoadTestApplication {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Path outputDir = Path.of("target", "load-test");
+
+        try (StandIns standIns = new StandIns();
+             ServiceLauncher launcher = new ServiceLauncher(settings.getServicesDir(), outputDir.resolve("logs"))) {
+            standIns.start();
+            launcher.start(standIns);
+
+            ApiClient apiClient = new ApiClient(settings.getGatewayUrl());
+            List<ApiClient.User> users = awaitReadyAndRegister(apiClient, settings.getUsers());
+
+            try (KafkaLagProbe lagProbe = new KafkaLagProbe(standIns.getKafkaBootstrapServers())) {
+                lagProbe.start();
+                TrafficDriver driver = new TrafficDriver(apiClient, users, settings);
+
+                log.info("Warming up for {} at {} req/s", settings.getWarmup(), settings.getArrivalRatePerSecond());
+                driver.run(settings.getWarmup());
+                driver.reset();
+                lagProbe.getRecorder().reset();
+
+                log.info("Measuring for {} at {} req/s", settings.getDuration(), settings.getArrivalRatePerSecond());
+                driver.run(settings.getDuration());
+
+                LatencyReport report = new LatencyReport(outputDir, System.out);
+                report.printHeader("ms");
+                for (Map.Entry<Route, Recorder> entry : driver.getRecorders().entrySet()) {
+                    Histogram histogram = entry.getValue().getIntervalHistogram();
+                    report.printRow(entry.getKey().getLabel(), histogram, 1_000_000.0,
+                            driver.getErrors().get(entry.getKey()).sum());
+                }
+                report.printRow("kafka transaction-events lag", lagProbe.getRecorder().getIntervalHistogram(), 1_000.0, 0);
+                System.out.printf("dropped (over max-in-flight): %d%n", driver.getDropped());
+            }
+        }
+    }
+
+    private static List<ApiClient.User> awaitReadyAndRegister(ApiClient apiClient, int userCount) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        ApiClient.User first = null;
+        while (first == null) {
+            try {
+                first = apiClient.register(0);
+                if (apiClient.probe("/api/transactions/stats", first.token()) != 200
+                        || apiClient.probe("/api/analytics/report", first.token()) != 200) {
+                    first = null;
+                }
+            } catch (Exception e) {
+                // Services still starting or not yet registered with Eureka
+            }
+            if (first == null) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Services not reachable through the gateway after " + STARTUP_TIMEOUT);
+                }
+                Thread.sleep(2000);
+            }
+        }
+        log.info("Gateway routes ready, registering {} users", userCount);
+
+        List<ApiClient.User> users = new ArrayList<>(userCount);
+        users.add(first);
+        for (int i = 1; i < userCount; i++) {
+            users.add(apiClient.register(i));
+        }
+        return users;
+    }
+}
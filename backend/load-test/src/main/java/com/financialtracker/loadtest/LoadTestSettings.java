@@ -0,0 +1,50 @@
+package com.financialtracker.loadtest;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Value
+public class LoadTestSettings {
+    Path servicesDir;
+    String gatewayUrl;
+    double arrivalRatePerSecond;
+    Duration warmup;
+    Duration duration;
+    int users;
+    int maxInFlight;
+    Map<Route, Integer> mix;
+
+    /**
+     * Reads settings from system properties, e.g.
+     * {@code -Drate=200 -Dduration=120s -Dmix=LOGIN:5,CREATE:25,LIST:30,STATS:25,REPORT:15}.
+     */
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Path.of(System.getProperty("services.dir", "..")).toAbsolutePath().normalize(),
+                System.getProperty("gateway.url", "http://localhost:8080"),
+                Double.parseDouble(System.getProperty("rate", "100")),
+                parseDuration(System.getProperty("warmup", "15s")),
+                parseDuration(System.getProperty("duration", "60s")),
+                Integer.getInteger("users", 50),
+                Integer.getInteger("max-in-flight", 2000),
+                parseMix(System.getProperty("mix", "LOGIN:5,CREATE:25,LIST:30,STATS:25,REPORT:15"))
+        );
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<Route, Integer> parseMix(String value) {
+        Map<Route, Integer> mix = new EnumMap<>(Route.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Route.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,19 @@
+package com.financialtracker.loadtest;
+
+public enum Route {
+    LOGIN("POST /api/auth/login"),
+    CREATE("POST /api/transactions"),
+    LIST("GET /api/transactions"),
+    STATS("GET /api/transactions/stats"),
+    REPORT("GET /api/analytics/report");
+
+    private final String label;
+
+    Route(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,69 @@
+package com.financialtracker.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the packaged service jars as child processes pointed at the stand-ins.
+ */
+@Slf4j
+public class ServiceLauncher implements AutoCloseable {
+
+    private static final List<String> SERVICES = List.of(
+            "eureka-server", "auth-service", "transaction-service", "analytics-service", "api-gateway");
+
+    private final Path servicesDir;
+    private final Path logDir;
+    private final List<Process> processes = new ArrayList<>();
+
+    public ServiceLauncher(Path servicesDir, Path logDir) {
+        this.servicesDir = servicesDir;
+        this.logDir = logDir;
+    }
+
+    public void start(StandIns standIns) throws IOException {
+        Files.createDirectories(logDir);
+        for (String service : SERVICES) {
+            Path jar = servicesDir.resolve(service).resolve("target").resolve(service + "-1.0.0.jar");
+            if (!Files.exists(jar)) {
+                throw new IllegalStateException("Missing " + jar + " - run build-all.sh first");
+            }
+            List<String> command = new ArrayList<>(List.of(
+                    javaExecutable(), "-jar", jar.toString(),
+                    "--spring.data.mongodb.uri=" + standIns.getMongoUri(),
+                    "--spring.kafka.bootstrap-servers=" + standIns.getKafkaBootstrapServers(),
+                    "--eureka.client.registry-fetch-interval-seconds=5"));
+            Path logFile = logDir.resolve(service + ".log");
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile())
+                    .start();
+            processes.add(process);
+            log.info("Started {} (pid {}), logging to {}", service, process.pid(), logFile);
+        }
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
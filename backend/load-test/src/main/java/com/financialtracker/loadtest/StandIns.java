@@ -0,0 +1,52 @@
+package com.financialtracker.loadtest;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.InetSocketAddress;
+
+/**
+ * In-process replacements for MongoDB and Kafka so the whole stack runs on one box
+ * without containers.
+ */
+@Slf4j
+public class StandIns implements AutoCloseable {
+
+    public static final String TOPIC = "transaction-events";
+
+    private MongoServer mongoServer;
+    private EmbeddedKafkaKraftBroker kafkaBroker;
+    private String mongoUri;
+
+    public void start() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoServer.bind("localhost", 0);
+        InetSocketAddress address = mongoServer.getLocalAddress();
+        mongoUri = "mongodb://localhost:" + address.getPort() + "/financial-tracker";
+        log.info("In-memory Mongo listening on {}", mongoUri);
+
+        kafkaBroker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        kafkaBroker.afterPropertiesSet();
+        log.info("Embedded Kafka listening on {}", getKafkaBootstrapServers());
+    }
+
+    public String getMongoUri() {
+        return mongoUri;
+    }
+
+    public String getKafkaBootstrapServers() {
+        return kafkaBroker.getBrokersAsString();
+    }
+
+    @Override
+    public void close() {
+        if (kafkaBroker != null) {
+            kafkaBroker.destroy();
+        }
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+    }
+}
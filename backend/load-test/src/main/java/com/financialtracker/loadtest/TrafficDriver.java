@@ -0,0 +1,114 @@
+package com.financialtracker.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at a fixed rate
+ * regardless of how quickly earlier ones complete. Latency is measured from the
+ * scheduled arrival time, so a stalled backend shows up in the percentiles instead
+ * of silently lowering the offered load (coordinated omission).
+ */
+@Slf4j
+public class TrafficDriver {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final ApiClient apiClient;
+    private final List<ApiClient.User> users;
+    private final LoadTestSettings settings;
+    private final Route[] weightedRoutes;
+    private final Map<Route, Recorder> recorders = new EnumMap<>(Route.class);
+    private final Map<Route, LongAdder> errors = new EnumMap<>(Route.class);
+    private final LongAdder dropped = new LongAdder();
+    private final Semaphore inFlight;
+
+    public TrafficDriver(ApiClient apiClient, List<ApiClient.User> users, LoadTestSettings settings) {
+        this.apiClient = apiClient;
+        this.users = users;
+        this.settings = settings;
+        this.inFlight = new Semaphore(settings.getMaxInFlight());
+        this.weightedRoutes = settings.getMix().entrySet().stream()
+                .flatMap(e -> Stream.generate(e::getKey).limit(e.getValue()))
+                .toArray(Route[]::new);
+        for (Route route : Route.values()) {
+            recorders.put(route, new Recorder(MAX_TRACKABLE_NANOS, 3));
+            errors.put(route, new LongAdder());
+        }
+    }
+
+    public void run(Duration duration) {
+        Random random = new Random();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getArrivalRatePerSecond();
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+
+        while (next < end) {
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Route route = weightedRoutes[random.nextInt(weightedRoutes.length)];
+            ApiClient.User user = users.get(random.nextInt(users.size()));
+            if (!inFlight.tryAcquire()) {
+                dropped.increment();
+                continue;
+            }
+            long intendedStart = next;
+            apiClient.send(route, user).whenComplete((response, error) -> {
+                inFlight.release();
+                long latency = Math.min(System.nanoTime() - intendedStart, MAX_TRACKABLE_NANOS);
+                recorders.get(route).recordValue(latency);
+                if (error != null || response.statusCode() >= 400) {
+                    errors.get(route).increment();
+                }
+            });
+        }
+        awaitInFlight();
+    }
+
+    /**
+     * Discards everything recorded so far, used to drop the warmup phase.
+     */
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        dropped.reset();
+    }
+
+    public Map<Route, Recorder> getRecorders() {
+        return recorders;
+    }
+
+    public Map<Route, LongAdder> getErrors() {
+        return errors;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void awaitInFlight() {
+        try {
+            if (!inFlight.tryAcquire(settings.getMaxInFlight(), 60, TimeUnit.SECONDS)) {
+                log.warn("Requests still in flight after 60s; they are excluded from the report");
+                return;
+            }
+            inFlight.release(settings.getMaxInFlight());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
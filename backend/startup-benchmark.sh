@@ -0,0 +1,64 @@
+#!/bin/bash
+
+# Measures time-to-first-request and resident memory for each service.
+# Usage: ./startup-benchmark.sh [jar|cds|native] [runs]
+#   jar     java -jar target/[service]-1.0.0.jar        (mvn package)
+#   cds     target/cds/run.sh                           (./build-cds.sh)
+#   native  target/[service]                            (mvn -Pnative native:compile)
+#
+# Mongo and Kafka are not required: their clients connect lazily, so the
+# first request is answered either way. Any HTTP status on the service port
+# counts; actuator is on a separate management port.
+
+cd "$(dirname "$0")"
+
+MODE=${1:-jar}
+RUNS=${2:-3}
+
+declare -A PORTS=(
+    [eureka-server]=8761
+    [api-gateway]=8080
+    [auth-service]=8081
+    [transaction-service]=8082
+    [analytics-service]=8083
+)
+
+command_for() {
+    local service=$1
+    case $MODE in
+        jar) echo "java -jar $service/target/$service-1.0.0.jar" ;;
+        cds) echo "$service/target/cds/run.sh" ;;
+        native) echo "$service/target/$service" ;;
+        *) echo "Unknown mode $MODE" >&2; exit 1 ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+printf "%-22s %-7s %18s %12s\n" "service" "mode" "first request (ms)" "RSS (MB)"
+for service in eureka-server api-gateway auth-service transaction-service analytics-service; do
+    port=${PORTS[$service]}
+    for run in $(seq "$RUNS"); do
+        start=$(now_ms)
+        $(command_for "$service") > "/tmp/startup-$service.log" 2>&1 &
+        pid=$!
+
+        while [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$port/")" = "000" ]; do
+            if ! kill -0 $pid 2>/dev/null; then
+                echo "$service exited during startup, see /tmp/startup-$service.log" >&2
+                break
+            fi
+            sleep 0.02
+        done
+        elapsed=$(( $(now_ms) - start ))
+
+        # run.sh execs java, so the pid is the JVM itself
+        rss_kb=$(grep VmRSS "/proc/$pid/status" 2>/dev/null | awk '{print $2}')
+        printf "%-22s %-7s %18s %12s\n" "$service" "$MODE" "$elapsed" "$(( ${rss_kb:-0} / 1024 ))"
+
+        kill $pid 2>/dev/null
+        wait $pid 2>/dev/null
+    done
+done
@@ -1,17 +1,21 @@
 package com.financialtracker.transaction.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financialtracker.common.jackson.JacksonWarmTypes;
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.dto.TransactionSearchResult;
+import com.financialtracker.transaction.dto.TransactionStats;
+import com.financialtracker.transaction.kafka.TransactionEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class JacksonConfig {
-    
+
     @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper;
+    public JacksonWarmTypes jacksonWarmTypes() {
+        return new JacksonWarmTypes(List.of(
+                TransactionDTO.class, TransactionStats.class, TransactionSearchResult.class, TransactionEvent.class));
     }
 }
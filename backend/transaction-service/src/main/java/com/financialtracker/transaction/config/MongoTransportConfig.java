@@ -0,0 +1,29 @@
+package com.financialtracker.transaction.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.TransportSettings;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Netty is on the classpath for the stream profile, and Boot then gives each Mongo client (blocking
+ * and reactive) its own event loop group but shuts down only the last one, whose non-daemon threads
+ * keep a one-shot run such as the layout migration from exiting. Both clients share this group
+ * instead, which the context shuts down after them.
+ */
+@Configuration
+public class MongoTransportConfig {
+
+    @Bean(destroyMethod = "shutdownGracefully")
+    public NioEventLoopGroup mongoEventLoopGroup() {
+        return new NioEventLoopGroup();
+    }
+
+    @Bean
+    public MongoClientSettings mongoClientSettings(NioEventLoopGroup mongoEventLoopGroup) {
+        return MongoClientSettings.builder()
+                .transportSettings(TransportSettings.nettyBuilder().eventLoopGroup(mongoEventLoopGroup).build())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.financialtracker.transaction.config;
+
+import com.financialtracker.transaction.dto.BalancePoint;
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.dto.TransactionSearchResult;
+import com.financialtracker.transaction.dto.TransactionStats;
+import com.financialtracker.transaction.kafka.TransactionEvent;
+import com.financialtracker.transaction.model.BalanceIndex;
+import com.financialtracker.transaction.model.IdempotencyRecord;
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.model.TransactionBucket;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reflection hints for types bound by Jackson or the Mongo mapper outside of what AOT
+ * processing discovers on its own (e.g. Kafka payloads serialized by hand).
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        TransactionDTO.class,
+        TransactionStats.class,
+        TransactionSearchResult.class,
+        TransactionEvent.class,
+        Transaction.class,
+        TransactionBucket.class,
+        TransactionBucket.Entry.class,
+        IdempotencyRecord.class,
+        BalanceIndex.class,
+        BalancePoint.class
+})
+public class NativeHintsConfig {
+}
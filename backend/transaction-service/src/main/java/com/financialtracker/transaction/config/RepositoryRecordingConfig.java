@@ -0,0 +1,88 @@
+package com.financialtracker.transaction.config;
+
+import com.financialtracker.transaction.jfr.RepositoryCallEvent;
+import com.financialtracker.transaction.repository.TransactionStore;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+@ImportRuntimeHints(RepositoryRecordingConfig.StoreProxyHints.class)
+public class RepositoryRecordingConfig {
+
+    /**
+     * Records every blocking Spring Data repository call, and every call on the
+     * {@link TransactionStore} (whose buckets layout goes through {@code MongoTemplate} rather than a
+     * repository), as a {@link RepositoryCallEvent} for flight recordings.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryRecordingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, info) -> {
+                        if (!info.isReactiveRepository()) {
+                            proxyFactory.addAdvice(recordingInterceptor(info.getRepositoryInterface().getSimpleName()));
+                        }
+                    }));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof TransactionStore)) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.addAdvice(recordingInterceptor(AopUtils.getTargetClass(bean).getSimpleName()));
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+
+    private static MethodInterceptor recordingInterceptor(String repository) {
+        return invocation -> {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.resultCount = failed ? -1 : RepositoryCallEvent.count(result);
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * The store proxy is created at runtime, which a native image has to know about at build time.
+     */
+    static class StoreProxyHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(TransactionStore.class));
+        }
+    }
+}
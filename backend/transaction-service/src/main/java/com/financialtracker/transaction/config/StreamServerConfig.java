@@ -0,0 +1,20 @@
+package com.financialtracker.transaction.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The {@code stream} profile runs WebFlux. Tomcat is on the classpath for the servlet API and Boot
+ * would pick it as the reactive server too, so the streams get Netty explicitly.
+ */
+@Configuration
+@Profile("stream")
+public class StreamServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,71 @@
+package com.financialtracker.transaction.controller;
+
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.dto.TransactionStats;
+import com.financialtracker.transaction.service.ReactiveTransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Served by WebFlux on Netty in the {@code stream} profile only, where the rest of the API is not
+ * registered. Netty requests more items only as the socket drains, and the cursor is pulled from
+ * Mongo in batches of {@value #STREAM_BATCH} against that demand, so a slow client slows its own
+ * cursor instead of buffering in the service.
+ */
+@RestController
+@Profile("stream")
+@RequestMapping("/transactions/reactive")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.storage.mode", havingValue = "documents", matchIfMissing = true)
+@Tag(name = "Transactions (reactive)", description = "Streaming transaction API backed by reactive Mongo")
+public class ReactiveTransactionController {
+
+    private static final int STREAM_BATCH = 256;
+
+    private final ReactiveTransactionService transactionService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream transactions for user, newest first")
+    public Flux<TransactionDTO> streamTransactions(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String type) {
+        return inBatches(transactionService.streamTransactions(userId, type));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export transactions in a date range as newline-delimited JSON")
+    public Flux<TransactionDTO> export(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return inBatches(transactionService.streamByDateRange(userId, startDate, endDate));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get transaction statistics")
+    public Mono<TransactionStats> getStats(@RequestHeader("X-User-Id") String userId) {
+        return transactionService.getStats(userId);
+    }
+
+    @PostMapping
+    @Operation(summary = "Create new transaction")
+    public Mono<TransactionDTO> createTransaction(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestBody TransactionDTO dto) {
+        return transactionService.createTransaction(userId, dto);
+    }
+
+    private static <T> Flux<T> inBatches(Flux<T> items) {
+        return items.limitRate(STREAM_BATCH);
+    }
+}
@@ -1,11 +1,15 @@
 package com.financialtracker.transaction.controller;
 
+import com.financialtracker.transaction.dto.BalancePoint;
 import com.financialtracker.transaction.dto.TransactionDTO;
 import com.financialtracker.transaction.dto.TransactionStats;
+import com.financialtracker.transaction.service.BalanceIndexService;
+import com.financialtracker.transaction.service.IdempotencyService;
 import com.financialtracker.transaction.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,12 +18,15 @@ import java.time.LocalDate;
 import java.util.List;
 
 @RestController
+@Profile("!stream")
 @RequestMapping("/transactions")
 @RequiredArgsConstructor
 @Tag(name = "Transactions", description = "Transaction management API")
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final BalanceIndexService balanceIndexService;
 
     @GetMapping
     @Operation(summary = "Get all transactions for user")
@@ -45,35 +52,69 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.getTransactionsByDateRange(userId, startDate, endDate));
     }
 
+    @GetMapping("/recent")
+    @Operation(summary = "Get the most recent transactions for user, newest first")
+    public ResponseEntity<List<TransactionDTO>> getRecentTransactions(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(transactionService.getRecentTransactions(userId, limit));
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Get transaction statistics")
     public ResponseEntity<TransactionStats> getStats(@RequestHeader("X-User-Id") String userId) {
         return ResponseEntity.ok(transactionService.getStats(userId));
     }
 
+    @GetMapping("/balance")
+    @Operation(summary = "Get the running balance at the end of a date, today by default")
+    public ResponseEntity<BalancePoint> getBalance(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(balanceIndexService.balanceAt(userId, date == null ? LocalDate.now() : date));
+    }
+
+    @GetMapping("/balance/series")
+    @Operation(summary = "Get the running balance at every day, week or month of a date range")
+    public ResponseEntity<List<BalancePoint>> getBalanceSeries(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "day") String step) {
+        return ResponseEntity.ok(balanceIndexService.series(userId, startDate, endDate, step));
+    }
+
     @PostMapping
     @Operation(summary = "Create new transaction")
     public ResponseEntity<TransactionDTO> createTransaction(
             @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody TransactionDTO dto) {
-        return ResponseEntity.ok(transactionService.createTransaction(userId, dto));
+        return idempotencyService.execute(userId, idempotencyKey, "POST /transactions", dto, TransactionDTO.class,
+                () -> ResponseEntity.ok(transactionService.createTransaction(userId, dto)));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update transaction")
     public ResponseEntity<TransactionDTO> updateTransaction(
             @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String id,
             @RequestBody TransactionDTO dto) {
-        return ResponseEntity.ok(transactionService.updateTransaction(userId, id, dto));
+        return idempotencyService.execute(userId, idempotencyKey, "PUT /transactions/" + id, dto, TransactionDTO.class,
+                () -> ResponseEntity.ok(transactionService.updateTransaction(userId, id, dto)));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete transaction")
     public ResponseEntity<Void> deleteTransaction(
             @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String id) {
-        transactionService.deleteTransaction(userId, id);
-        return ResponseEntity.noContent().build();
+        return idempotencyService.execute(userId, idempotencyKey, "DELETE /transactions/" + id, null, Void.class,
+                () -> {
+                    transactionService.deleteTransaction(userId, id);
+                    return ResponseEntity.noContent().build();
+                });
     }
 }
@@ -0,0 +1,33 @@
+package com.financialtracker.transaction.controller;
+
+import com.financialtracker.transaction.dto.TransactionSearchResult;
+import com.financialtracker.transaction.service.TransactionSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!stream")
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.storage.mode", havingValue = "documents", matchIfMissing = true)
+@Tag(name = "Transactions", description = "Transaction management API")
+public class TransactionSearchController {
+
+    private final TransactionSearchService transactionSearchService;
+
+    @GetMapping("/search")
+    @Operation(summary = "Search transaction descriptions and notes, newest first")
+    public ResponseEntity<TransactionSearchResult> search(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(transactionSearchService.search(userId, q, fuzzy, cursor, size));
+    }
+}
@@ -0,0 +1,15 @@
+package com.financialtracker.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePoint {
+    private LocalDate date;
+    private Double balance;
+}
@@ -0,0 +1,17 @@
+package com.financialtracker.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchResult {
+    private List<TransactionDTO> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // pass as cursor for the next page; null on the last page
+}
@@ -0,0 +1,50 @@
+package com.financialtracker.transaction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Name("financialtracker.RepositoryCall")
+@Label("Repository Call")
+@Category({"Financial Tracker", "MongoDB"})
+@Description("A Spring Data repository or transaction store method call and the number of results it returned")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Result Count")
+    @Description("Documents returned; 1 for a single entity or value, -1 for a stream or when the call failed")
+    public int resultCount;
+
+    public static int count(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Stream<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
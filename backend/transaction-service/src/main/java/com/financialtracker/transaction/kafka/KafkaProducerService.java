@@ -2,26 +2,76 @@ package com.financialtracker.transaction.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.common.jfr.KafkaSendEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
 
+    private static final String TOPIC = "transaction-events";
+
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     public void sendTransactionEvent(TransactionEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        KafkaSendEvent sendEvent = KafkaSendEvent.start(TOPIC);
         try {
             String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send("transaction-events", event.getUserId(), message);
+            kafkaTemplate.send(TOPIC, event.getUserId(), message)
+                    .whenComplete((result, e) -> {
+                        sendEvent.complete(result, e);
+                        recordSend(sample, event, e);
+                    });
             log.info("Transaction event sent: {}", event.getEventType());
         } catch (JsonProcessingException e) {
+            sendEvent.complete(null, e);
+            recordSend(sample, event, e);
             log.error("Error sending transaction event", e);
         }
     }
+
+    public Mono<Void> sendTransactionEventReactive(TransactionEvent event) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            KafkaSendEvent sendEvent = KafkaSendEvent.start(TOPIC);
+            return Mono.fromCallable(() -> objectMapper.writeValueAsString(event))
+                    .flatMap(message -> Mono.fromFuture(() -> kafkaTemplate.send(TOPIC, event.getUserId(), message)))
+                    .doOnNext(result -> {
+                        sendEvent.complete(result, null);
+                        recordSend(sample, event, null);
+                        log.info("Transaction event sent: {}", event.getEventType());
+                    })
+                    .onErrorResume(e -> {
+                        sendEvent.complete(null, e);
+                        recordSend(sample, event, e);
+                        log.error("Error sending transaction event", e);
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    private void recordSend(Timer.Sample sample, TransactionEvent event, Throwable error) {
+        String eventType = String.valueOf(event.getEventType());
+        sample.stop(Timer.builder("kafka.producer.send")
+                .description("Time from send until the broker acknowledges a transaction event")
+                .tag("topic", TOPIC)
+                .tag("event.type", eventType)
+                .tag("outcome", error == null ? "success" : "failure")
+                .register(meterRegistry));
+        if (error != null) {
+            meterRegistry.counter("kafka.producer.send.failures",
+                    "topic", TOPIC, "event.type", eventType, "exception", error.getClass().getSimpleName()).increment();
+        }
+    }
 }
@@ -15,4 +15,14 @@ public class TransactionEvent {
     private String category;
     private Double amount;
     private String date;
+    // Values before the change, only set on UPDATED so consumers can apply deltas
+    private String previousType;
+    private String previousCategory;
+    private Double previousAmount;
+    private String previousDate;
+
+    public TransactionEvent(String eventType, String transactionId, String userId, String type,
+                            String category, Double amount, String date) {
+        this(eventType, transactionId, userId, type, category, amount, date, null, null, null, null);
+    }
 }
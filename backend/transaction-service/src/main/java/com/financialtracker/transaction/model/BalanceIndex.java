@@ -0,0 +1,21 @@
+package com.financialtracker.transaction.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "balance_index")
+public class BalanceIndex {
+    @Id
+    private String userId;
+    private Map<String, Long> days; // epoch day -> net change in cents, only days with transactions
+    private long version; // incremented by every change, lets instances tell whether a cached tree is current
+    private boolean initialized; // false while the index is being rebuilt from the user's transactions
+}
@@ -0,0 +1,27 @@
+package com.financialtracker.transaction.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String id; // userId:Idempotency-Key
+    private String fingerprint; // operation and request body hash
+    private String status; // IN_PROGRESS or COMPLETED
+    private Integer statusCode;
+    private String body;
+    private Instant lockedUntil; // an IN_PROGRESS claim past this is abandoned
+    private Instant createdAt;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -4,15 +4,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "transactions")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_date_created", def = "{'userId': 1, 'date': -1, 'createdAt': -1}"),
+        @CompoundIndex(name = "user_search_terms_date_id", def = "{'userId': 1, 'searchTerms': 1, 'date': -1, '_id': -1}")
+})
 public class Transaction {
     @Id
     private String id;
@@ -23,6 +30,7 @@ public class Transaction {
     private LocalDate date;
     private String description;
     private String notes;
+    private List<String> searchTerms; // normalized tokens of description and notes
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
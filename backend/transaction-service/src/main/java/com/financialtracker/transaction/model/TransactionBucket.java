@@ -0,0 +1,48 @@
+package com.financialtracker.transaction.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One user's transactions for one month, used when {@code transaction.storage.mode=buckets}.
+ * A busy month spills into further buckets once {@code count} reaches the bucket capacity;
+ * the totals cover the entries of this bucket only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "transaction_buckets")
+@CompoundIndex(name = "user_month", def = "{'userId': 1, 'month': 1}")
+public class TransactionBucket {
+    @Id
+    private String id;
+    private String userId;
+    private String month; // yyyy-MM
+    private int count;
+    private double totalIncome;
+    private double totalExpense;
+    private List<Entry> transactions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String transactionId; // not "id", which the mapper would turn into _id
+        private String type;
+        private String category;
+        private Double amount;
+        private LocalDate date;
+        private String description;
+        private String notes;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+}
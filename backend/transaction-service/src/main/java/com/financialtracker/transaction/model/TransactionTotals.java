@@ -0,0 +1,14 @@
+package com.financialtracker.transaction.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTotals {
+    private double totalIncome;
+    private double totalExpense;
+    private long count;
+}
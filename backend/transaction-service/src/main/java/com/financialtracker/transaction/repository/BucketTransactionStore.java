@@ -0,0 +1,258 @@
+package com.financialtracker.transaction.repository;
+
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.model.TransactionBucket;
+import com.financialtracker.transaction.model.TransactionTotals;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Stores each user's transactions in per-month {@link TransactionBucket} documents. A user's
+ * history is a handful of index entries and documents instead of one per transaction, list
+ * queries read a range of months in one sorted index scan, and stats only read bucket totals.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.storage.mode", havingValue = "buckets")
+public class BucketTransactionStore implements TransactionStore {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${transaction.storage.bucket-capacity:500}")
+    private int bucketCapacity;
+
+    @Override
+    public List<Transaction> findByUserId(String userId) {
+        return read(Criteria.where("userId").is(userId), userId, t -> true);
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndType(String userId, String type) {
+        return read(Criteria.where("userId").is(userId), userId, t -> type.equals(t.getType()));
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndCategory(String userId, String category) {
+        return read(Criteria.where("userId").is(userId), userId, t -> category.equals(t.getCategory()));
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate) {
+        // Same exclusive bounds as the derived query on TransactionRepository
+        Criteria months = Criteria.where("userId").is(userId)
+                .and("month").gte(YearMonth.from(startDate).toString()).lte(YearMonth.from(endDate).toString());
+        return read(months, userId, t -> t.getDate().isAfter(startDate) && t.getDate().isBefore(endDate));
+    }
+
+    /**
+     * Reads months newest first until the limit is reached, finishing the month it is reached in
+     * since a busy month's entries are spread over several unordered buckets.
+     */
+    @Override
+    public List<Transaction> findRecentByUserId(String userId, int limit) {
+        Query query = Query.query(Criteria.where("userId").is(userId)).with(Sort.by(Sort.Direction.DESC, "month"));
+        List<Transaction> result = new ArrayList<>();
+        String lastMonth = null;
+        try (Stream<TransactionBucket> buckets = mongoTemplate.stream(query, TransactionBucket.class)) {
+            for (TransactionBucket bucket : (Iterable<TransactionBucket>) buckets::iterator) {
+                if (result.size() >= limit && !bucket.getMonth().equals(lastMonth)) {
+                    break;
+                }
+                lastMonth = bucket.getMonth();
+                for (TransactionBucket.Entry entry : bucket.getTransactions()) {
+                    result.add(toTransaction(userId, entry));
+                }
+            }
+        }
+        result.sort(Comparator.comparing(Transaction::getDate, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+                .thenComparing(Transaction::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private List<Transaction> read(Criteria criteria, String userId, Predicate<TransactionBucket.Entry> filter) {
+        Query query = Query.query(criteria).with(Sort.by("month", "_id"));
+        List<Transaction> result = new ArrayList<>();
+        for (TransactionBucket bucket : mongoTemplate.find(query, TransactionBucket.class)) {
+            for (TransactionBucket.Entry entry : bucket.getTransactions()) {
+                if (filter.test(entry)) {
+                    result.add(toTransaction(userId, entry));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scans only the user's buckets through the {@code (userId, month)} index; an index on entry ids
+     * would hold one key per transaction again.
+     */
+    @Override
+    public Optional<Transaction> findById(String userId, String id) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("transactions.transactionId").is(id));
+        query.fields().include("userId").elemMatch("transactions", Criteria.where("transactionId").is(id));
+        TransactionBucket bucket = mongoTemplate.findOne(query, TransactionBucket.class);
+        if (bucket == null || bucket.getTransactions() == null || bucket.getTransactions().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toTransaction(bucket.getUserId(), bucket.getTransactions().get(0)));
+    }
+
+    /**
+     * Totals move by the difference to the stored entry, so the entry is only replaced while it still
+     * has the type and amount that difference was computed from; a concurrent change makes the
+     * update miss and it is recomputed. A move to another month appends the new entry before the old
+     * one is removed, so a failure in between leaves a duplicate rather than losing the transaction.
+     */
+    @Override
+    public Transaction save(Transaction transaction) {
+        if (transaction.getId() == null) {
+            transaction.setId(new ObjectId().toHexString());
+            append(transaction);
+            return transaction;
+        }
+
+        String month = YearMonth.from(transaction.getDate()).toString();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Transaction previous = findById(transaction.getUserId(), transaction.getId()).orElse(null);
+            if (previous == null) {
+                append(transaction);
+                return transaction;
+            }
+            String previousMonth = YearMonth.from(previous.getDate()).toString();
+            if (!previousMonth.equals(month)) {
+                append(transaction);
+                removeEntry(transaction.getUserId(), previousMonth, transaction.getId());
+                return transaction;
+            }
+            Update update = new Update().set("transactions.$", toEntry(transaction))
+                    .inc("totalIncome", income(transaction) - income(previous))
+                    .inc("totalExpense", expense(transaction) - expense(previous));
+            if (mongoTemplate.updateFirst(entryAsRead(previous, month), update, TransactionBucket.class).getMatchedCount() > 0) {
+                return transaction;
+            }
+        }
+        throw new RuntimeException("Transaction " + transaction.getId() + " is being modified concurrently");
+    }
+
+    @Override
+    public void delete(Transaction transaction) {
+        removeEntry(transaction.getUserId(), YearMonth.from(transaction.getDate()).toString(), transaction.getId());
+    }
+
+    @Override
+    public TransactionTotals totalsByUserId(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId));
+        query.fields().include("count", "totalIncome", "totalExpense");
+        TransactionTotals totals = new TransactionTotals();
+        for (TransactionBucket bucket : mongoTemplate.find(query, TransactionBucket.class)) {
+            totals.setTotalIncome(totals.getTotalIncome() + bucket.getTotalIncome());
+            totals.setTotalExpense(totals.getTotalExpense() + bucket.getTotalExpense());
+            totals.setCount(totals.getCount() + bucket.getCount());
+        }
+        return totals;
+    }
+
+    /**
+     * Pushes into a bucket of the transaction's month that still has room, creating one when none
+     * has. Two concurrent first writes to a month may each create a bucket; readers merge them anyway.
+     */
+    private void append(Transaction transaction) {
+        Query query = Query.query(Criteria.where("userId").is(transaction.getUserId())
+                .and("month").is(YearMonth.from(transaction.getDate()).toString())
+                .and("count").lt(bucketCapacity));
+        Update update = new Update().push("transactions", toEntry(transaction))
+                .inc("count", 1)
+                .inc("totalIncome", income(transaction))
+                .inc("totalExpense", expense(transaction));
+        mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true), TransactionBucket.class);
+    }
+
+    /**
+     * Pulls the entry from its month under the same condition as an in-place update, re-reading it
+     * when a concurrent change got there first, and drops the bucket once it is empty.
+     */
+    private void removeEntry(String userId, String month, String id) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Query query = Query.query(Criteria.where("userId").is(userId).and("month").is(month)
+                    .and("transactions.transactionId").is(id));
+            query.fields().include("userId").elemMatch("transactions", Criteria.where("transactionId").is(id));
+            TransactionBucket bucket = mongoTemplate.findOne(query, TransactionBucket.class);
+            if (bucket == null || bucket.getTransactions() == null || bucket.getTransactions().isEmpty()) {
+                return;
+            }
+            Transaction current = toTransaction(userId, bucket.getTransactions().get(0));
+            Update update = new Update().pull("transactions", new Document("transactionId", id))
+                    .inc("count", -1)
+                    .inc("totalIncome", -income(current))
+                    .inc("totalExpense", -expense(current));
+            if (mongoTemplate.updateFirst(entryAsRead(current, month), update, TransactionBucket.class).getMatchedCount() > 0) {
+                mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)
+                        .and("month").is(month)
+                        .and("count").lte(0)), TransactionBucket.class);
+                return;
+            }
+        }
+        throw new RuntimeException("Transaction " + id + " is being modified concurrently");
+    }
+
+    /**
+     * The bucket of {@code month} whose entry for this transaction still has the type and amount it
+     * was read with.
+     */
+    private static Query entryAsRead(Transaction read, String month) {
+        return Query.query(Criteria.where("userId").is(read.getUserId()).and("month").is(month)
+                .and("transactions").elemMatch(Criteria.where("transactionId").is(read.getId())
+                        .and("type").is(read.getType())
+                        .and("amount").is(read.getAmount())));
+    }
+
+    private static double income(Transaction transaction) {
+        return "INCOME".equals(transaction.getType()) ? transaction.getAmount() : 0;
+    }
+
+    private static double expense(Transaction transaction) {
+        return "EXPENSE".equals(transaction.getType()) ? transaction.getAmount() : 0;
+    }
+
+    public static TransactionBucket.Entry toEntry(Transaction t) {
+        return new TransactionBucket.Entry(t.getId(), t.getType(), t.getCategory(), t.getAmount(), t.getDate(),
+                t.getDescription(), t.getNotes(), t.getCreatedAt(), t.getUpdatedAt());
+    }
+
+    public static Transaction toTransaction(String userId, TransactionBucket.Entry e) {
+        Transaction t = new Transaction();
+        t.setId(e.getTransactionId());
+        t.setUserId(userId);
+        t.setType(e.getType());
+        t.setCategory(e.getCategory());
+        t.setAmount(e.getAmount());
+        t.setDate(e.getDate());
+        t.setDescription(e.getDescription());
+        t.setNotes(e.getNotes());
+        t.setCreatedAt(e.getCreatedAt());
+        t.setUpdatedAt(e.getUpdatedAt());
+        return t;
+    }
+}
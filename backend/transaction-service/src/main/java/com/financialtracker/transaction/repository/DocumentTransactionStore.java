@@ -0,0 +1,78 @@
+package com.financialtracker.transaction.repository;
+
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.model.TransactionTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One document per transaction in the {@code transactions} collection (the default layout).
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.storage.mode", havingValue = "documents", matchIfMissing = true)
+public class DocumentTransactionStore implements TransactionStore {
+
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public List<Transaction> findByUserId(String userId) {
+        return transactionRepository.findByUserId(userId);
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndType(String userId, String type) {
+        return transactionRepository.findByUserIdAndType(userId, type);
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndCategory(String userId, String category) {
+        return transactionRepository.findByUserIdAndCategory(userId, category);
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
+    }
+
+    @Override
+    public List<Transaction> findRecentByUserId(String userId, int limit) {
+        return transactionRepository.findByUserIdOrderByDateDescCreatedAtDesc(userId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public Optional<Transaction> findById(String userId, String id) {
+        return transactionRepository.findById(id);
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return transactionRepository.save(transaction);
+    }
+
+    @Override
+    public void delete(Transaction transaction) {
+        transactionRepository.deleteById(transaction.getId());
+    }
+
+    @Override
+    public TransactionTotals totalsByUserId(String userId) {
+        List<Transaction> transactions = transactionRepository.findByUserId(userId);
+        double totalIncome = 0;
+        double totalExpense = 0;
+        for (Transaction t : transactions) {
+            if ("INCOME".equals(t.getType())) {
+                totalIncome += t.getAmount();
+            } else if ("EXPENSE".equals(t.getType())) {
+                totalExpense += t.getAmount();
+            }
+        }
+        return new TransactionTotals(totalIncome, totalExpense, transactions.size());
+    }
+}
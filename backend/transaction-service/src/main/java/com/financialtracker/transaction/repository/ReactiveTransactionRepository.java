@@ -0,0 +1,22 @@
+package com.financialtracker.transaction.repository;
+
+import com.financialtracker.transaction.model.Transaction;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReactiveTransactionRepository extends ReactiveMongoRepository<Transaction, String> {
+    // Small cursor batches so demand from the HTTP client drives the Mongo getMore calls
+    @Meta(cursorBatchSize = 256)
+    Flux<Transaction> findByUserIdOrderByDateDesc(String userId);
+
+    @Meta(cursorBatchSize = 256)
+    Flux<Transaction> findByUserIdAndTypeOrderByDateDesc(String userId, String type);
+
+    @Meta(cursorBatchSize = 256)
+    Flux<Transaction> findByUserIdAndDateBetweenOrderByDateAsc(String userId, LocalDate startDate, LocalDate endDate);
+}
@@ -1,6 +1,7 @@
 package com.financialtracker.transaction.repository;
 
 import com.financialtracker.transaction.model.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,5 +14,6 @@ public interface TransactionRepository extends MongoRepository<Transaction, Stri
     List<Transaction> findByUserIdAndType(String userId, String type);
     List<Transaction> findByUserIdAndCategory(String userId, String category);
     List<Transaction> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+    List<Transaction> findByUserIdOrderByDateDescCreatedAtDesc(String userId, Pageable pageable);
     void deleteByIdAndUserId(String id, String userId);
 }
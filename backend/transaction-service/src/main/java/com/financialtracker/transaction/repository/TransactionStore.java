@@ -0,0 +1,28 @@
+package com.financialtracker.transaction.repository;
+
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.model.TransactionTotals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The transaction queries used by {@code TransactionService}, independent of the storage layout
+ * selected by {@code transaction.storage.mode} ({@code documents} or {@code buckets}).
+ */
+public interface TransactionStore {
+    List<Transaction> findByUserId(String userId);
+    List<Transaction> findByUserIdAndType(String userId, String type);
+    List<Transaction> findByUserIdAndCategory(String userId, String category);
+    List<Transaction> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+    List<Transaction> findRecentByUserId(String userId, int limit);
+    /**
+     * Looks up {@code id} among {@code userId}'s transactions. The documents layout finds it by id
+     * alone, so callers still check the owner.
+     */
+    Optional<Transaction> findById(String userId, String id);
+    Transaction save(Transaction transaction);
+    void delete(Transaction transaction);
+    TransactionTotals totalsByUserId(String userId);
+}
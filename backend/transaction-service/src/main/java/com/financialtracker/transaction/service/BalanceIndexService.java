@@ -0,0 +1,229 @@
+package com.financialtracker.transaction.service;
+
+import com.financialtracker.transaction.dto.BalancePoint;
+import com.financialtracker.transaction.model.BalanceIndex;
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.repository.TransactionStore;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running balance per user. The {@code balance_index} collection keeps only each user's net change
+ * per day, updated with one atomic {@code $inc} per mutation, and instances answer queries from a
+ * cached {@link BalanceTree} built from it. A user without an index gets one built from their
+ * transactions on first query; deleting a user's document forces such a rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceIndexService {
+
+    private static final int MAX_CACHED_USERS = 1_000;
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+    private static final int MAX_SERIES_POINTS = 3_660;
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionStore transactionStore;
+
+    private final Map<String, BalanceTree> trees = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BalanceTree> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    public void recordCreated(Transaction transaction) {
+        Map<Long, Long> days = new HashMap<>();
+        change(days, transaction.getDate(), cents(transaction.getType(), transaction.getAmount()));
+        apply(transaction.getUserId(), days);
+    }
+
+    public void recordUpdated(String previousType, Double previousAmount, LocalDate previousDate,
+                              Transaction transaction) {
+        Map<Long, Long> days = new HashMap<>();
+        change(days, previousDate, -cents(previousType, previousAmount));
+        change(days, transaction.getDate(), cents(transaction.getType(), transaction.getAmount()));
+        apply(transaction.getUserId(), days);
+    }
+
+    public void recordDeleted(Transaction transaction) {
+        Map<Long, Long> days = new HashMap<>();
+        change(days, transaction.getDate(), -cents(transaction.getType(), transaction.getAmount()));
+        apply(transaction.getUserId(), days);
+    }
+
+    public BalancePoint balanceAt(String userId, LocalDate date) {
+        return new BalancePoint(date, toAmount(tree(userId).balanceAt(date.toEpochDay())));
+    }
+
+    public List<BalancePoint> series(String userId, LocalDate startDate, LocalDate endDate, String step) {
+        if (endDate.isBefore(startDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endDate must not be before startDate");
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = next(date, step)) {
+            if (dates.size() == MAX_SERIES_POINTS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A balance series is limited to " + MAX_SERIES_POINTS + " points");
+            }
+            dates.add(date);
+        }
+
+        long[] days = dates.stream().mapToLong(LocalDate::toEpochDay).toArray();
+        long[] balances = tree(userId).balancesAt(days);
+        List<BalancePoint> points = new ArrayList<>(dates.size());
+        for (int i = 0; i < balances.length; i++) {
+            points.add(new BalancePoint(dates.get(i), toAmount(balances[i])));
+        }
+        return points;
+    }
+
+    /**
+     * Increments the persisted per-day changes and, when no other writer got in between, the cached
+     * tree. Users without an index are skipped; their first query builds it from the store.
+     */
+    private void apply(String userId, Map<Long, Long> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        Update update = new Update().inc("version", 1);
+        days.forEach((day, cents) -> update.inc("days." + day, cents));
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        query.fields().include("version");
+        BalanceIndex updated = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), BalanceIndex.class);
+        if (updated == null) {
+            return;
+        }
+
+        BalanceTree tree = cached(userId);
+        if (tree != null && !tree.advance(updated.getVersion() - 1, updated.getVersion(), days)) {
+            evict(userId, tree);
+        }
+    }
+
+    private BalanceTree tree(String userId) {
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        query.fields().include("version", "initialized");
+        BalanceIndex head = mongoTemplate.findOne(query, BalanceIndex.class);
+        if (head == null || !head.isInitialized()) {
+            return build(userId);
+        }
+
+        BalanceTree cached = cached(userId);
+        if (cached != null && cached.version() == head.getVersion()) {
+            return cached;
+        }
+
+        BalanceIndex index = mongoTemplate.findById(userId, BalanceIndex.class);
+        if (index == null || !index.isInitialized()) {
+            return build(userId);
+        }
+        Map<Long, Long> days = new HashMap<>();
+        if (index.getDays() != null) {
+            index.getDays().forEach((day, cents) -> days.put(Long.parseLong(day), cents));
+        }
+        return remember(userId, BalanceTree.of(days, LocalDate.now().toEpochDay(), index.getVersion()));
+    }
+
+    /**
+     * Rebuilds a user's index from their transactions. The document is reset to version 0 first, so
+     * a mutation that lands while the history is being read bumps the version and the final write,
+     * which only matches version 0, is retried instead of dropping that change.
+     */
+    private BalanceTree build(String userId) {
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        for (int attempt = 0; attempt < MAX_BUILD_ATTEMPTS; attempt++) {
+            mongoTemplate.upsert(query, new Update()
+                    .set("days", Map.of())
+                    .set("version", 0L)
+                    .set("initialized", false), BalanceIndex.class);
+
+            Map<Long, Long> days = new HashMap<>();
+            for (Transaction t : transactionStore.findByUserId(userId)) {
+                change(days, t.getDate(), cents(t.getType(), t.getAmount()));
+            }
+            Map<String, Long> stored = new HashMap<>();
+            days.forEach((day, cents) -> stored.put(Long.toString(day), cents));
+
+            UpdateResult result = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(userId).and("version").is(0L)),
+                    new Update().set("days", stored).set("initialized", true),
+                    BalanceIndex.class);
+            if (result.getMatchedCount() == 1) {
+                log.info("Built balance index for user {} over {} days", userId, days.size());
+                return remember(userId, BalanceTree.of(days, LocalDate.now().toEpochDay(), 0));
+            }
+        }
+        throw new RuntimeException("Balance index for user " + userId + " kept changing while being built");
+    }
+
+    private BalanceTree cached(String userId) {
+        synchronized (trees) {
+            return trees.get(userId);
+        }
+    }
+
+    private BalanceTree remember(String userId, BalanceTree tree) {
+        synchronized (trees) {
+            trees.put(userId, tree);
+        }
+        return tree;
+    }
+
+    private void evict(String userId, BalanceTree tree) {
+        synchronized (trees) {
+            trees.remove(userId, tree);
+        }
+    }
+
+    private static LocalDate next(LocalDate date, String step) {
+        return switch (step.toLowerCase()) {
+            case "day" -> date.plusDays(1);
+            case "week" -> date.plusWeeks(1);
+            case "month" -> date.plusMonths(1);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown step " + step + ", expected day, week or month");
+        };
+    }
+
+    private static void change(Map<Long, Long> days, LocalDate date, long cents) {
+        if (date != null && cents != 0) {
+            days.merge(date.toEpochDay(), cents, Long::sum);
+        }
+    }
+
+    private static long cents(String type, Double amount) {
+        if (amount == null) {
+            return 0;
+        }
+        long cents = Math.round(amount * 100);
+        if ("INCOME".equals(type)) {
+            return cents;
+        }
+        if ("EXPENSE".equals(type)) {
+            return -cents;
+        }
+        return 0;
+    }
+
+    private static double toAmount(long cents) {
+        return cents / 100.0;
+    }
+}
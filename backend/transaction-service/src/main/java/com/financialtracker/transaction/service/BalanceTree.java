@@ -0,0 +1,170 @@
+package com.financialtracker.transaction.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fenwick tree over a user's net daily balance changes in cents, indexed by epoch day. The balance
+ * at the end of a day is a prefix sum and a change on any day is a point update, both O(log n) in
+ * the number of days covered. A change outside the covered range relays the tree once with a year
+ * of headroom on that side, so backdated and future-dated entries rarely pay for it.
+ * <p>
+ * The tree is dense, so it only tracks days from {@link #MAX_PAST_DAYS} before to
+ * {@link #MAX_FUTURE_DAYS} after the day it was built, a window wider than
+ * {@link TransactionService} accepts. Changes on earlier days (legacy data) count on the window's
+ * first day and changes on later days are left out, which keeps every balance inside the window
+ * exact without refusing the user's whole history.
+ */
+public final class BalanceTree {
+
+    private static final int HEADROOM_DAYS = 366;
+    static final long MAX_PAST_DAYS = 60 * 366;
+    static final long MAX_FUTURE_DAYS = 20 * 366;
+
+    private final long firstDay;
+    private final long lastDay;
+    private long originDay;
+    private long[] tree; // 1-based, tree[i] covers the (i & -i) days ending at originDay + i - 1
+    private long version;
+
+    private BalanceTree(long firstDay, long lastDay, long originDay, long[] tree, long version) {
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.originDay = originDay;
+        this.tree = tree;
+        this.version = version;
+    }
+
+    /**
+     * Builds the tree in O(n) from sparse per-day changes, covering at least today.
+     */
+    public static BalanceTree of(Map<Long, Long> days, long today, long version) {
+        long firstDay = today - MAX_PAST_DAYS;
+        long lastDay = today + MAX_FUTURE_DAYS;
+        Map<Long, Long> covered = covered(days, firstDay, lastDay);
+        long first = today;
+        long last = today;
+        for (long day : covered.keySet()) {
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+        }
+        long origin = first - HEADROOM_DAYS;
+        long[] tree = new long[size(origin, last + HEADROOM_DAYS)];
+        covered.forEach((day, cents) -> tree[(int) (day - origin + 1)] += cents);
+        accumulate(tree);
+        return new BalanceTree(firstDay, lastDay, origin, tree, version);
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Balance in cents at the end of {@code day}.
+     */
+    public synchronized long balanceAt(long day) {
+        if (day < originDay) {
+            return 0;
+        }
+        int i = (int) Math.min(day - originDay + 1, tree.length - 1);
+        long sum = 0;
+        for (; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Balances at the end of each of {@code days}, read under one lock so a series is consistent.
+     */
+    public synchronized long[] balancesAt(long[] days) {
+        long[] balances = new long[days.length];
+        for (int k = 0; k < days.length; k++) {
+            balances[k] = balanceAt(days[k]);
+        }
+        return balances;
+    }
+
+    /**
+     * Applies changes that moved the persisted index from {@code expectedVersion} to
+     * {@code newVersion}. Returns false, leaving the tree untouched, when another writer changed the
+     * index in between and this copy has to be reloaded.
+     */
+    public synchronized boolean advance(long expectedVersion, long newVersion, Map<Long, Long> days) {
+        if (version != expectedVersion) {
+            return false;
+        }
+        Map<Long, Long> covered = covered(days, firstDay, lastDay);
+        long first = originDay;
+        long last = originDay + tree.length - 2;
+        for (long day : covered.keySet()) {
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+        }
+        if (first < originDay || last > originDay + tree.length - 2) {
+            grow(first, last);
+        }
+        covered.forEach(this::add);
+        version = newVersion;
+        return true;
+    }
+
+    private void add(long day, long cents) {
+        for (int i = (int) (day - originDay + 1); i < tree.length; i += i & -i) {
+            tree[i] += cents;
+        }
+    }
+
+    /**
+     * Relays the tree to cover {@code first..last} with headroom. The new array is complete before
+     * any field changes.
+     */
+    private void grow(long first, long last) {
+        long[] days = tree.clone();
+        unaccumulate(days);
+        long currentEnd = originDay + tree.length - 2;
+        long origin = first < originDay ? first - HEADROOM_DAYS : originDay;
+        long end = last > currentEnd ? last + HEADROOM_DAYS : currentEnd;
+        long[] grown = new long[size(origin, end)];
+        System.arraycopy(days, 1, grown, (int) (originDay - origin + 1), days.length - 1);
+        accumulate(grown);
+        originDay = origin;
+        tree = grown;
+    }
+
+    /**
+     * The changes the tree tracks: days before {@code firstDay} folded into it, days after
+     * {@code lastDay} dropped.
+     */
+    private static Map<Long, Long> covered(Map<Long, Long> days, long firstDay, long lastDay) {
+        Map<Long, Long> covered = new HashMap<>();
+        days.forEach((day, cents) -> {
+            if (day <= lastDay) {
+                covered.merge(Math.max(day, firstDay), cents, Long::sum);
+            }
+        });
+        return covered;
+    }
+
+    private static int size(long origin, long end) {
+        return (int) (end - origin + 2);
+    }
+
+    private static void accumulate(long[] tree) {
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private static void unaccumulate(long[] tree) {
+        for (int i = tree.length - 1; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] -= tree[i];
+            }
+        }
+    }
+}
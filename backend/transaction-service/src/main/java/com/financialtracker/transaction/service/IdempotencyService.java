@@ -0,0 +1,303 @@
+package com.financialtracker.transaction.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.transaction.model.IdempotencyRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a mutation at most once per {@code Idempotency-Key} and replays the stored response
+ * to retries. Completed responses are kept in a bounded in-memory cache in front of the
+ * TTL-indexed {@code idempotency_keys} collection, which also serves as the cross-instance claim.
+ * A duplicate arriving while the first request is still running waits for its result: on the
+ * same instance through the first request's future, on another instance by polling the claim.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_CACHED_RESPONSES = 10_000;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final long COMPLETE_RETRY_MILLIS = 100;
+    private static final long MAX_COMPLETE_RETRY_MILLIS = 2_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${idempotency.lock-timeout:PT30S}")
+    private Duration lockTimeout;
+
+    @Value("${idempotency.wait-timeout:PT10S}")
+    private Duration waitTimeout;
+
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, IdempotencyRecord> completed = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+            return size() > MAX_CACHED_RESPONSES;
+        }
+    };
+
+    public <T> ResponseEntity<T> execute(String userId, String key, String operation, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + HEADER + " header");
+        }
+
+        String id = userId + ":" + key;
+        String fingerprint = fingerprint(operation, request);
+
+        IdempotencyRecord cached = cached(id);
+        if (cached != null) {
+            return replay(cached, fingerprint, responseType, "replayed");
+        }
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint, responseType, "waited");
+        }
+
+        try {
+            Instant lockExpiry = Instant.now().plus(lockTimeout);
+            IdempotencyRecord existing = claim(id, fingerprint);
+            if (existing != null) {
+                IdempotencyRecord result = COMPLETED.equals(existing.getStatus()) ? remember(existing) : poll(id);
+                mine.complete(result);
+                return replay(result, fingerprint, responseType, "waited");
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                // Nothing was committed under this key; let a retry execute again
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(id).and("status").is(IN_PROGRESS)),
+                        IdempotencyRecord.class);
+                throw e;
+            }
+
+            IdempotencyRecord record = complete(id, fingerprint, response, lockExpiry);
+            mine.complete(record);
+            count("executed");
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * Inserts an IN_PROGRESS claim, or takes over one whose lock expired (its owner died mid-request).
+     * Returns null when this request now owns the key, otherwise the record that holds it.
+     */
+    private IdempotencyRecord claim(String id, String fingerprint) {
+        Instant now = Instant.now();
+        try {
+            mongoTemplate.insert(new IdempotencyRecord(id, fingerprint, IN_PROGRESS, null, null,
+                    now.plus(lockTimeout), now, now.plus(ttl)));
+            return null;
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord takenOver = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(id).and("status").is(IN_PROGRESS).and("lockedUntil").lt(now)),
+                    new Update().set("lockedUntil", now.plus(lockTimeout)).set("fingerprint", fingerprint),
+                    FindAndModifyOptions.options().returnNew(true),
+                    IdempotencyRecord.class);
+            if (takenOver != null) {
+                log.warn("Taking over abandoned idempotency key {}", id);
+                return null;
+            }
+            IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (existing == null) {
+                // Owner failed and released the key between our insert and read; try once more
+                return claim(id, fingerprint);
+            }
+            return existing;
+        }
+    }
+
+    /**
+     * Stores the response over the claim. The mutation has already happened, so a failed write is
+     * retried until the claim's lock runs out: after that another instance would take the key over
+     * and execute the mutation a second time.
+     */
+    private <T> IdempotencyRecord complete(String id, String fingerprint, ResponseEntity<T> response, Instant lockExpiry) {
+        String body;
+        try {
+            body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error storing idempotent response", e);
+        }
+        Instant now = Instant.now();
+        IdempotencyRecord record = new IdempotencyRecord(id, fingerprint, COMPLETED,
+                response.getStatusCode().value(), body, null, now, now.plus(ttl));
+        long backoffMillis = COMPLETE_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.save(record);
+                return remember(record);
+            } catch (DataAccessException e) {
+                if (Instant.now().plusMillis(backoffMillis).isAfter(lockExpiry)) {
+                    count("complete_failed");
+                    log.error("Could not store the response for idempotency key {} after {} attempts; its mutation "
+                            + "succeeded but the key stays IN_PROGRESS, and a retry on another instance after "
+                            + "{} will execute it again", id, attempt, lockExpiry, e);
+                    // Retries reaching this instance still get the stored response
+                    return remember(record);
+                }
+                log.error("Storing the response for idempotency key {} failed (attempt {}), retrying", id, attempt, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    log.error("Interrupted while storing the response for idempotency key {}; it stays IN_PROGRESS", id);
+                    return remember(record);
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_COMPLETE_RETRY_MILLIS);
+            }
+        }
+    }
+
+    private IdempotencyRecord remember(IdempotencyRecord record) {
+        synchronized (completed) {
+            completed.put(record.getId(), record);
+        }
+        return record;
+    }
+
+    private IdempotencyRecord cached(String id) {
+        IdempotencyRecord record;
+        synchronized (completed) {
+            record = completed.get(id);
+        }
+        if (record != null && record.getExpiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        return record;
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw stillInProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillInProgress();
+        }
+    }
+
+    /**
+     * Waits for another instance to finish the request that holds the key.
+     */
+    private IdempotencyRecord poll(String id) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            IdempotencyRecord record = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (record == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "The original request with this " + HEADER + " failed; retry it");
+            }
+            if (COMPLETED.equals(record.getStatus())) {
+                return remember(record);
+            }
+        }
+        throw stillInProgress();
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String fingerprint, Class<T> responseType,
+                                         String outcome) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            count("mismatch");
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+        }
+        count(outcome);
+        try {
+            T body = record.getBody() == null ? null : objectMapper.readValue(record.getBody(), responseType);
+            return ResponseEntity.status(record.getStatusCode()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error replaying idempotent response", e);
+        }
+    }
+
+    private ResponseStatusException stillInProgress() {
+        count("in_progress");
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this " + HEADER + " is still in progress");
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            if (request != null) {
+                digest.update(objectMapper.writeValueAsBytes(request));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new RuntimeException("Error fingerprinting request", e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+}
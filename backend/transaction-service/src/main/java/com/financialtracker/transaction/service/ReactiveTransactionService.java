@@ -0,0 +1,95 @@
+package com.financialtracker.transaction.service;
+
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.dto.TransactionStats;
+import com.financialtracker.transaction.kafka.KafkaProducerService;
+import com.financialtracker.transaction.kafka.TransactionEvent;
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.repository.ReactiveTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.storage.mode", havingValue = "documents", matchIfMissing = true)
+public class ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final BalanceIndexService balanceIndexService;
+
+    public Flux<TransactionDTO> streamTransactions(String userId, String type) {
+        Flux<Transaction> transactions = type == null
+                ? transactionRepository.findByUserIdOrderByDateDesc(userId)
+                : transactionRepository.findByUserIdAndTypeOrderByDateDesc(userId, type);
+        return transactions.map(this::mapToDTO);
+    }
+
+    public Flux<TransactionDTO> streamByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, startDate, endDate)
+                .map(this::mapToDTO);
+    }
+
+    public Mono<TransactionStats> getStats(String userId) {
+        return transactionRepository.findByUserIdOrderByDateDesc(userId)
+                .reduce(new double[3], (acc, t) -> {
+                    if ("INCOME".equals(t.getType())) {
+                        acc[0] += t.getAmount();
+                    } else if ("EXPENSE".equals(t.getType())) {
+                        acc[1] += t.getAmount();
+                    }
+                    acc[2]++;
+                    return acc;
+                })
+                .map(acc -> new TransactionStats(acc[0], acc[1], acc[0] - acc[1], (long) acc[2]));
+    }
+
+    public Mono<TransactionDTO> createTransaction(String userId, TransactionDTO dto) {
+        TransactionService.checkDate(dto.getDate());
+        Transaction transaction = new Transaction();
+        transaction.setUserId(userId);
+        transaction.setType(dto.getType());
+        transaction.setCategory(dto.getCategory());
+        transaction.setAmount(dto.getAmount());
+        transaction.setDate(dto.getDate());
+        transaction.setDescription(dto.getDescription());
+        transaction.setNotes(dto.getNotes());
+        transaction.setSearchTerms(SearchTokenizer.tokenize(dto.getDescription(), dto.getNotes()));
+        transaction.setCreatedAt(LocalDateTime.now());
+        transaction.setUpdatedAt(LocalDateTime.now());
+
+        return transactionRepository.save(transaction)
+                // The balance index is maintained through the blocking template
+                .flatMap(saved -> Mono.fromRunnable(() -> balanceIndexService.recordCreated(saved))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(saved))
+                .flatMap(saved -> kafkaProducerService.sendTransactionEventReactive(new TransactionEvent(
+                                "CREATED",
+                                saved.getId(),
+                                userId,
+                                saved.getType(),
+                                saved.getCategory(),
+                                saved.getAmount(),
+                                saved.getDate().toString()))
+                        .thenReturn(mapToDTO(saved)));
+    }
+
+    private TransactionDTO mapToDTO(Transaction transaction) {
+        return new TransactionDTO(
+                transaction.getId(),
+                transaction.getType(),
+                transaction.getCategory(),
+                transaction.getAmount(),
+                transaction.getDate(),
+                transaction.getDescription(),
+                transaction.getNotes()
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package com.financialtracker.transaction.service;
+
+import com.financialtracker.transaction.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills {@code searchTerms} for transactions written before search existed, then exits. The
+ * {@code $exists: false} filter cannot use an index, so this is a one-shot run with
+ * {@code --transaction.search.backfill=true} rather than a scan on every startup. It only touches
+ * documents that still lack the field, so an interrupted run can be started again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "transaction.search.backfill", havingValue = "true")
+public class SearchTermsBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${transaction.storage.mode:documents}")
+    private String storageMode;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!"documents".equals(storageMode)) {
+            throw new IllegalStateException("Search terms are only kept in the documents layout, not " + storageMode);
+        }
+        long updated = 0;
+        List<Transaction> batch;
+        do {
+            Query query = new Query(Criteria.where("searchTerms").exists(false)).limit(BATCH_SIZE);
+            query.fields().include("description", "notes");
+            batch = mongoTemplate.find(query, Transaction.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+            for (Transaction t : batch) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(t.getId())),
+                        Update.update("searchTerms", SearchTokenizer.tokenize(t.getDescription(), t.getNotes())));
+            }
+            updated += bulk.execute().getModifiedCount();
+        } while (batch.size() == BATCH_SIZE);
+
+        log.info("Backfilled search terms for {} transactions", updated);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,147 @@
+package com.financialtracker.transaction.service;
+
+import com.financialtracker.transaction.model.Transaction;
+import com.financialtracker.transaction.model.TransactionBucket;
+import com.financialtracker.transaction.repository.BucketTransactionStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves every user's transactions between the per-document and the monthly bucket layout, then
+ * exits. Run it with the {@code migrate} profile, which starts no web server and registers nothing
+ * in Eureka, and {@code --transaction.storage.migrate=to-buckets} (or {@code to-documents}) while no
+ * instance is writing. Targets are written by id before a user's source data is removed, so an
+ * interrupted run can simply be started again.
+ */
+@Component
+@Profile("migrate")
+@RequiredArgsConstructor
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "transaction.storage.migrate")
+public class TransactionLayoutMigration implements ApplicationRunner {
+
+    private static final int DOCUMENT_BATCH_SIZE = 500;
+    private static final int BUCKET_BATCH_SIZE = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${transaction.storage.migrate}")
+    private String direction;
+
+    @Value("${transaction.storage.bucket-capacity:500}")
+    private int bucketCapacity;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long users = switch (direction) {
+            case "to-buckets" -> toBuckets();
+            case "to-documents" -> toDocuments();
+            default -> throw new IllegalArgumentException("Unknown migration " + direction
+                    + ", expected to-buckets or to-documents");
+        };
+        log.info("Migrated transactions of {} users {}", users, direction);
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private long toBuckets() {
+        List<String> userIds = mongoTemplate.findDistinct(new Query(), "userId", Transaction.class, String.class);
+        for (String userId : userIds) {
+            Query query = Query.query(Criteria.where("userId").is(userId)).with(Sort.by("date", "_id"));
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, TransactionBucket.class);
+            int pending = 0;
+            TransactionBucket bucket = null;
+            int seq = 0;
+            try (Stream<Transaction> transactions = mongoTemplate.stream(query, Transaction.class)) {
+                for (Transaction t : (Iterable<Transaction>) transactions::iterator) {
+                    String month = YearMonth.from(t.getDate()).toString();
+                    if (bucket == null || !bucket.getMonth().equals(month) || bucket.getCount() == bucketCapacity) {
+                        if (bucket != null) {
+                            replace(bulk, bucket.getId(), bucket);
+                            pending++;
+                        }
+                        seq = bucket != null && bucket.getMonth().equals(month) ? seq + 1 : 0;
+                        // Deterministic ids make a re-run overwrite rather than duplicate
+                        bucket = new TransactionBucket(userId + ":" + month + ":" + seq, userId, month,
+                                0, 0, 0, new ArrayList<>());
+                    }
+                    bucket.getTransactions().add(BucketTransactionStore.toEntry(t));
+                    bucket.setCount(bucket.getCount() + 1);
+                    if ("INCOME".equals(t.getType())) {
+                        bucket.setTotalIncome(bucket.getTotalIncome() + t.getAmount());
+                    } else if ("EXPENSE".equals(t.getType())) {
+                        bucket.setTotalExpense(bucket.getTotalExpense() + t.getAmount());
+                    }
+                    if (pending == BUCKET_BATCH_SIZE) {
+                        bulk.execute();
+                        bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, TransactionBucket.class);
+                        pending = 0;
+                    }
+                }
+            }
+            if (bucket != null) {
+                replace(bulk, bucket.getId(), bucket);
+                pending++;
+            }
+            if (pending > 0) {
+                bulk.execute();
+            }
+            mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)), Transaction.class);
+        }
+        return userIds.size();
+    }
+
+    private long toDocuments() {
+        List<String> userIds = mongoTemplate.findDistinct(new Query(), "userId", TransactionBucket.class, String.class);
+        for (String userId : userIds) {
+            Query query = Query.query(Criteria.where("userId").is(userId)).with(Sort.by("month", "_id"));
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+            int pending = 0;
+            try (Stream<TransactionBucket> buckets = mongoTemplate.stream(query, TransactionBucket.class)) {
+                for (TransactionBucket bucket : (Iterable<TransactionBucket>) buckets::iterator) {
+                    for (TransactionBucket.Entry entry : bucket.getTransactions()) {
+                        Transaction t = BucketTransactionStore.toTransaction(userId, entry);
+                        t.setSearchTerms(SearchTokenizer.tokenize(t.getDescription(), t.getNotes()));
+                        replace(bulk, t.getId(), t);
+                        if (++pending == DOCUMENT_BATCH_SIZE) {
+                            bulk.execute();
+                            bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+                            pending = 0;
+                        }
+                    }
+                }
+            }
+            if (pending > 0) {
+                bulk.execute();
+            }
+            mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)), TransactionBucket.class);
+        }
+        return userIds.size();
+    }
+
+    private static void replace(BulkOperations bulk, String id, Object replacement) {
+        bulk.replaceOne(Query.query(Criteria.where("_id").is(id)), replacement, FindAndReplaceOptions.options().upsert());
+    }
+}
@@ -0,0 +1,186 @@
+package com.financialtracker.transaction.service;
+
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.dto.TransactionSearchResult;
+import com.financialtracker.transaction.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Searches description and notes through the per-user inverted index formed by the
+ * multikey {@code (userId, searchTerms, date, _id)} index. Every query term must match; the
+ * last term also matches as a prefix (search-as-you-type) and, when fuzzy matching is
+ * requested, the other terms expand to indexed terms within a small edit distance.
+ * Results are ranked newest first and paged by a cursor on (date, _id) rather than an offset.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.storage.mode", havingValue = "documents", matchIfMissing = true)
+public class TransactionSearchService {
+
+    private static final String SEARCH_INDEX = "user_search_terms_date_id";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CACHED_DICTIONARIES = 1000;
+    private static final long DICTIONARY_TTL_MILLIS = 60_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    // Per-user term dictionaries for fuzzy expansion; a short TTL bounds staleness
+    // from writes handled by other instances.
+    private final Map<String, CachedDictionary> dictionaries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedDictionary> eldest) {
+            return size() > MAX_CACHED_DICTIONARIES;
+        }
+    };
+
+    public TransactionSearchResult search(String userId, String text, boolean fuzzy, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<String> terms = SearchTokenizer.tokenize(text);
+        if (terms.isEmpty()) {
+            return new TransactionSearchResult(List.of(), pageSize, false, null);
+        }
+
+        Set<String> dictionary = fuzzy ? dictionary(userId) : null;
+        List<Set<String>> complete = new ArrayList<>();
+        for (int i = 0; i < terms.size() - 1; i++) {
+            complete.add(expand(terms.get(i), dictionary));
+        }
+        // A single exact term drives the scan: on (userId, searchTerms, date, _id) its index range
+        // is already in result order, so the query stops after one page. Without one, matches are
+        // scanned through the prefix range and only the page is kept in a bounded top-k sort.
+        Set<String> driver = complete.stream()
+                .filter(expansion -> expansion.size() == 1)
+                .max(Comparator.comparingInt(expansion -> expansion.iterator().next().length()))
+                .orElse(null);
+
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("userId").is(userId));
+        if (driver != null) {
+            criteria.add(Criteria.where("searchTerms").is(driver.iterator().next()));
+        }
+        for (Set<String> expansion : complete) {
+            if (expansion != driver) {
+                criteria.add(Criteria.where("searchTerms").in(expansion));
+            }
+        }
+        String last = terms.get(terms.size() - 1);
+        Criteria prefix = Criteria.where("searchTerms").regex("^" + last);
+        criteria.add(dictionary == null
+                ? prefix
+                : new Criteria().orOperator(prefix, Criteria.where("searchTerms").in(expand(last, dictionary))));
+        if (cursor != null && !cursor.isEmpty()) {
+            criteria.add(after(cursor));
+        }
+
+        // Fetch one extra row to know whether another page exists without a count query
+        Query query = new Query(new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Order.desc("date"), Sort.Order.desc("_id")))
+                .limit(pageSize + 1)
+                .withHint(SEARCH_INDEX);
+        query.fields().exclude("searchTerms");
+
+        List<Transaction> found = mongoTemplate.find(query, Transaction.class);
+        boolean hasMore = found.size() > pageSize;
+        List<Transaction> page = hasMore ? found.subList(0, pageSize) : found;
+        List<TransactionDTO> items = page.stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? cursorOf(page.get(page.size() - 1)) : null;
+        return new TransactionSearchResult(items, pageSize, hasMore, nextCursor);
+    }
+
+    /**
+     * Rows strictly after the last one of the previous page in (date desc, _id desc) order.
+     * The cursor is that row's {@code date_id}.
+     */
+    private static Criteria after(String cursor) {
+        int separator = cursor.indexOf('_');
+        LocalDate date;
+        try {
+            date = LocalDate.parse(cursor.substring(0, Math.max(separator, 0)));
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid search cursor");
+        }
+        String id = cursor.substring(separator + 1);
+        if (!ObjectId.isValid(id)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid search cursor");
+        }
+        return new Criteria().orOperator(
+                Criteria.where("date").lt(date),
+                new Criteria().andOperator(Criteria.where("date").is(date), Criteria.where("_id").lt(new ObjectId(id))));
+    }
+
+    private static String cursorOf(Transaction transaction) {
+        return transaction.getDate() + "_" + transaction.getId();
+    }
+
+    private Set<String> expand(String term, Set<String> dictionary) {
+        Set<String> expanded = new TreeSet<>();
+        expanded.add(term);
+        if (dictionary == null) {
+            return expanded;
+        }
+        int maxDistance = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxDistance == 0) {
+            return expanded;
+        }
+        for (String candidate : dictionary) {
+            if (SearchTokenizer.editDistance(term, candidate, maxDistance) <= maxDistance) {
+                expanded.add(candidate);
+            }
+        }
+        return expanded;
+    }
+
+    private Set<String> dictionary(String userId) {
+        long now = System.currentTimeMillis();
+        synchronized (dictionaries) {
+            CachedDictionary cached = dictionaries.get(userId);
+            if (cached != null && now - cached.loadedAt() < DICTIONARY_TTL_MILLIS) {
+                return cached.terms();
+            }
+        }
+        // Distinct over the (userId, searchTerms) index prefix, no document fetches
+        Set<String> terms = Set.copyOf(mongoTemplate.findDistinct(
+                new Query(Criteria.where("userId").is(userId)), "searchTerms", Transaction.class, String.class));
+        synchronized (dictionaries) {
+            dictionaries.put(userId, new CachedDictionary(terms, now));
+        }
+        return terms;
+    }
+
+    private TransactionDTO mapToDTO(Transaction transaction) {
+        return new TransactionDTO(
+                transaction.getId(),
+                transaction.getType(),
+                transaction.getCategory(),
+                transaction.getAmount(),
+                transaction.getDate(),
+                transaction.getDescription(),
+                transaction.getNotes()
+        );
+    }
+
+    private record CachedDictionary(Set<String> terms, long loadedAt) {
+    }
+}
@@ -5,9 +5,12 @@ import com.financialtracker.transaction.dto.TransactionStats;
 import com.financialtracker.transaction.kafka.KafkaProducerService;
 import com.financialtracker.transaction.kafka.TransactionEvent;
 import com.financialtracker.transaction.model.Transaction;
-import com.financialtracker.transaction.repository.TransactionRepository;
+import com.financialtracker.transaction.model.TransactionTotals;
+import com.financialtracker.transaction.repository.TransactionStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,28 +21,43 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TransactionService {
 
-    private final TransactionRepository transactionRepository;
+    private static final int MAX_RECENT = 100;
+    private static final int MAX_PAST_YEARS = 50;
+    private static final int MAX_FUTURE_YEARS = 5;
+
+    private final TransactionStore transactionStore;
     private final KafkaProducerService kafkaProducerService;
+    private final BalanceIndexService balanceIndexService;
 
     public List<TransactionDTO> getAllTransactions(String userId) {
-        return transactionRepository.findByUserId(userId).stream()
+        return transactionStore.findByUserId(userId).stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<TransactionDTO> getTransactionsByType(String userId, String type) {
-        return transactionRepository.findByUserIdAndType(userId, type).stream()
+        return transactionStore.findByUserIdAndType(userId, type).stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<TransactionDTO> getTransactionsByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
-        return transactionRepository.findByUserIdAndDateBetween(userId, startDate, endDate).stream()
+        return transactionStore.findByUserIdAndDateBetween(userId, startDate, endDate).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public List<TransactionDTO> getRecentTransactions(String userId, int limit) {
+        if (limit < 1 || limit > MAX_RECENT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_RECENT);
+        }
+        return transactionStore.findRecentByUserId(userId, limit).stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
     public TransactionDTO createTransaction(String userId, TransactionDTO dto) {
+        checkDate(dto.getDate());
         Transaction transaction = new Transaction();
         transaction.setUserId(userId);
         transaction.setType(dto.getType());
@@ -48,10 +66,12 @@ public class TransactionService {
         transaction.setDate(dto.getDate());
         transaction.setDescription(dto.getDescription());
         transaction.setNotes(dto.getNotes());
+        transaction.setSearchTerms(SearchTokenizer.tokenize(dto.getDescription(), dto.getNotes()));
         transaction.setCreatedAt(LocalDateTime.now());
         transaction.setUpdatedAt(LocalDateTime.now());
 
-        transaction = transactionRepository.save(transaction);
+        transaction = transactionStore.save(transaction);
+        balanceIndexService.recordCreated(transaction);
 
         // Send Kafka event
         TransactionEvent event = new TransactionEvent(
@@ -69,22 +89,30 @@ public class TransactionService {
     }
 
     public TransactionDTO updateTransaction(String userId, String id, TransactionDTO dto) {
-        Transaction transaction = transactionRepository.findById(id)
+        checkDate(dto.getDate());
+        Transaction transaction = transactionStore.findById(userId, id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
         if (!transaction.getUserId().equals(userId)) {
             throw new RuntimeException("Unauthorized");
         }
 
+        String previousType = transaction.getType();
+        String previousCategory = transaction.getCategory();
+        Double previousAmount = transaction.getAmount();
+        LocalDate previousDate = transaction.getDate();
+
         transaction.setType(dto.getType());
         transaction.setCategory(dto.getCategory());
         transaction.setAmount(dto.getAmount());
         transaction.setDate(dto.getDate());
         transaction.setDescription(dto.getDescription());
         transaction.setNotes(dto.getNotes());
+        transaction.setSearchTerms(SearchTokenizer.tokenize(dto.getDescription(), dto.getNotes()));
         transaction.setUpdatedAt(LocalDateTime.now());
 
-        transaction = transactionRepository.save(transaction);
+        transaction = transactionStore.save(transaction);
+        balanceIndexService.recordUpdated(previousType, previousAmount, previousDate, transaction);
 
         // Send Kafka event
         TransactionEvent event = new TransactionEvent(
@@ -94,7 +122,11 @@ public class TransactionService {
                 transaction.getType(),
                 transaction.getCategory(),
                 transaction.getAmount(),
-                transaction.getDate().toString()
+                transaction.getDate().toString(),
+                previousType,
+                previousCategory,
+                previousAmount,
+                previousDate.toString()
         );
         kafkaProducerService.sendTransactionEvent(event);
 
@@ -102,14 +134,15 @@ public class TransactionService {
     }
 
     public void deleteTransaction(String userId, String id) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionStore.findById(userId, id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
         if (!transaction.getUserId().equals(userId)) {
             throw new RuntimeException("Unauthorized");
         }
 
-        transactionRepository.deleteById(id);
+        transactionStore.delete(transaction);
+        balanceIndexService.recordDeleted(transaction);
 
         // Send Kafka event
         TransactionEvent event = new TransactionEvent(
@@ -125,26 +158,31 @@ public class TransactionService {
     }
 
     public TransactionStats getStats(String userId) {
-        List<Transaction> transactions = transactionRepository.findByUserId(userId);
-        
-        double totalIncome = transactions.stream()
-                .filter(t -> "INCOME".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        
-        double totalExpenses = transactions.stream()
-                .filter(t -> "EXPENSE".equals(t.getType()))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        TransactionTotals totals = transactionStore.totalsByUserId(userId);
 
         return new TransactionStats(
-                totalIncome,
-                totalExpenses,
-                totalIncome - totalExpenses,
-                (long) transactions.size()
+                totals.getTotalIncome(),
+                totals.getTotalExpense(),
+                totals.getTotalIncome() - totals.getTotalExpense(),
+                totals.getCount()
         );
     }
 
+    /**
+     * Keeps dates within a window the balance index can cover densely; anything further out is
+     * almost certainly a typo. Every write path that moves the index goes through this.
+     */
+    static void checkDate(LocalDate date) {
+        if (date == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "date is required");
+        }
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today.minusYears(MAX_PAST_YEARS)) || date.isAfter(today.plusYears(MAX_FUTURE_YEARS))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "date must be within " + MAX_PAST_YEARS + " years before and " + MAX_FUTURE_YEARS + " years after today");
+        }
+    }
+
     private TransactionDTO mapToDTO(Transaction transaction) {
         return new TransactionDTO(
                 transaction.getId(),
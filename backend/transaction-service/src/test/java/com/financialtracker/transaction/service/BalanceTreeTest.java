@@ -0,0 +1,144 @@
+package com.financialtracker.transaction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceTreeTest {
+
+    private static final long TODAY = LocalDate.of(2024, 6, 15).toEpochDay();
+
+    @Test
+    void balanceIsThePrefixSumOfDailyChanges() {
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY - 10, 500L, TODAY - 5, -200L), TODAY, 0);
+
+        assertThat(tree.balanceAt(TODAY - 11)).isZero();
+        assertThat(tree.balanceAt(TODAY - 10)).isEqualTo(500);
+        assertThat(tree.balanceAt(TODAY - 6)).isEqualTo(500);
+        assertThat(tree.balanceAt(TODAY - 5)).isEqualTo(300);
+        assertThat(tree.balanceAt(TODAY + 10_000)).isEqualTo(300);
+        assertThat(tree.balancesAt(new long[]{TODAY - 10, TODAY})).containsExactly(500, 300);
+    }
+
+    @Test
+    void backdatedChangeBeforeTheRangeGrowsTheTree() {
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.advance(0, 1, Map.of(TODAY - 2_000, 50L))).isTrue();
+
+        assertThat(tree.version()).isEqualTo(1);
+        assertThat(tree.balanceAt(TODAY - 2_001)).isZero();
+        assertThat(tree.balanceAt(TODAY - 2_000)).isEqualTo(50);
+        assertThat(tree.balanceAt(TODAY - 1)).isEqualTo(50);
+        assertThat(tree.balanceAt(TODAY)).isEqualTo(150);
+    }
+
+    @Test
+    void futureChangeAfterTheRangeGrowsTheTree() {
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.advance(0, 1, Map.of(TODAY + 3_000, -30L))).isTrue();
+
+        assertThat(tree.balanceAt(TODAY + 2_999)).isEqualTo(100);
+        assertThat(tree.balanceAt(TODAY + 3_000)).isEqualTo(70);
+    }
+
+    @Test
+    void updateMovingATransactionBackInTimeShiftsTheBalance() {
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.advance(0, 1, Map.of(TODAY, -100L, TODAY - 800, 100L))).isTrue();
+
+        assertThat(tree.balanceAt(TODAY - 801)).isZero();
+        assertThat(tree.balanceAt(TODAY - 800)).isEqualTo(100);
+        assertThat(tree.balanceAt(TODAY)).isEqualTo(100);
+    }
+
+    @Test
+    void growingKeepsEveryExistingDay() {
+        Random random = new Random(42);
+        Map<Long, Long> days = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            days.merge(TODAY - random.nextInt(300), (long) random.nextInt(10_000) - 5_000, Long::sum);
+        }
+        BalanceTree tree = BalanceTree.of(days, TODAY, 0);
+
+        assertThat(tree.advance(0, 1, Map.of(TODAY - 5_000, 7L))).isTrue();
+        assertThat(tree.advance(1, 2, Map.of(TODAY + 5_000, 11L))).isTrue();
+        days.merge(TODAY - 5_000, 7L, Long::sum);
+        days.merge(TODAY + 5_000, 11L, Long::sum);
+
+        long expected = 0;
+        for (long day = TODAY - 5_001; day <= TODAY + 5_001; day++) {
+            expected += days.getOrDefault(day, 0L);
+            assertThat(tree.balanceAt(day)).as("balance on day %d", day).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void staleVersionLeavesTheTreeUntouched() {
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY, 100L), TODAY, 3);
+
+        assertThat(tree.advance(2, 4, Map.of(TODAY, 50L))).isFalse();
+
+        assertThat(tree.version()).isEqualTo(3);
+        assertThat(tree.balanceAt(TODAY)).isEqualTo(100);
+    }
+
+    @Test
+    void legacyDaysBeforeTheWindowCountOnItsFirstDay() {
+        long ancient = LocalDate.of(1, 1, 1).toEpochDay();
+        long firstDay = TODAY - BalanceTree.MAX_PAST_DAYS;
+        BalanceTree tree = BalanceTree.of(Map.of(ancient, 40L, firstDay + 10, 60L, TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.balanceAt(firstDay - 1)).isZero();
+        assertThat(tree.balanceAt(firstDay)).isEqualTo(40);
+        assertThat(tree.balanceAt(firstDay + 10)).isEqualTo(100);
+        assertThat(tree.balanceAt(TODAY)).isEqualTo(200);
+    }
+
+    @Test
+    void legacyDaysAfterTheWindowAreLeftOut() {
+        long farFuture = LocalDate.of(99_999, 1, 1).toEpochDay();
+        BalanceTree tree = BalanceTree.of(Map.of(farFuture, 1L, TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.balanceAt(TODAY + BalanceTree.MAX_FUTURE_DAYS)).isEqualTo(100);
+        assertThat(tree.balanceAt(farFuture)).isEqualTo(100);
+    }
+
+    @Test
+    void changesOutsideTheWindowAreAppliedLikeARebuildWouldApplyThem() {
+        long ancient = LocalDate.of(1, 1, 1).toEpochDay();
+        long farFuture = LocalDate.of(99_999, 1, 1).toEpochDay();
+        Map<Long, Long> changes = Map.of(ancient, 5L, farFuture, 7L, TODAY - 3, 11L);
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.advance(0, 1, changes)).isTrue();
+
+        Map<Long, Long> all = new HashMap<>(changes);
+        all.merge(TODAY, 100L, Long::sum);
+        BalanceTree rebuilt = BalanceTree.of(all, TODAY, 1);
+        for (long day = TODAY - BalanceTree.MAX_PAST_DAYS - 1; day <= TODAY + BalanceTree.MAX_FUTURE_DAYS + 1; day += 97) {
+            assertThat(tree.balanceAt(day)).as("balance on day %d", day).isEqualTo(rebuilt.balanceAt(day));
+        }
+        assertThat(tree.balanceAt(TODAY)).isEqualTo(116);
+    }
+
+    @Test
+    void changesOnBothSidesGrowTheTreeOnceAndKeepEveryDay() {
+        BalanceTree tree = BalanceTree.of(Map.of(TODAY, 100L), TODAY, 0);
+
+        assertThat(tree.advance(0, 1, Map.of(TODAY - 4_000, 3L, TODAY + 3_000, 5L, TODAY, 7L))).isTrue();
+
+        assertThat(tree.balanceAt(TODAY - 4_001)).isZero();
+        assertThat(tree.balanceAt(TODAY - 4_000)).isEqualTo(3);
+        assertThat(tree.balanceAt(TODAY)).isEqualTo(110);
+        assertThat(tree.balanceAt(TODAY + 2_999)).isEqualTo(110);
+        assertThat(tree.balanceAt(TODAY + 3_000)).isEqualTo(115);
+    }
+}
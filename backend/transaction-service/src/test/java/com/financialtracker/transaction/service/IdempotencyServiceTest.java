@@ -0,0 +1,172 @@
+package com.financialtracker.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialtracker.transaction.model.IdempotencyRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private static final String USER = "user-1";
+    private static final String KEY = "key-1";
+    private static final String ID = USER + ":" + KEY;
+    private static final Map<String, Object> REQUEST = Map.of("amount", 10);
+
+    private MongoTemplate mongoTemplate;
+    private IdempotencyService service;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = newService();
+        executions = new AtomicInteger();
+    }
+
+    private IdempotencyService newService() {
+        IdempotencyService idempotencyService = new IdempotencyService(mongoTemplate, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(idempotencyService, "lockTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofSeconds(1));
+        return idempotencyService;
+    }
+
+    private ResponseEntity<String> execute(Object request) {
+        return service.execute(USER, KEY, "POST /transactions", request, String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("created");
+        });
+    }
+
+    @Test
+    void claimsNewKeyExecutesOnceAndStoresTheResponse() {
+        ResponseEntity<String> response = execute(REQUEST);
+
+        assertThat(response.getBody()).isEqualTo("created");
+        assertThat(executions).hasValue(1);
+        verify(mongoTemplate).insert(argThat((IdempotencyRecord r) -> r.getId().equals(ID) && r.getStatus().equals("IN_PROGRESS")));
+        verify(mongoTemplate).save(argThat((IdempotencyRecord r) -> r.getStatus().equals("COMPLETED")
+                && r.getStatusCode() == 200 && r.getBody().equals("\"created\"")));
+    }
+
+    @Test
+    void replaysFromMemoryWithoutExecutingAgain() {
+        execute(REQUEST);
+        ResponseEntity<String> replayed = execute(REQUEST);
+
+        assertThat(executions).hasValue(1);
+        assertThat(replayed.getBody()).isEqualTo("created");
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void takesOverAnAbandonedClaim() {
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyRecord.class)))
+                .thenReturn(new IdempotencyRecord(ID, "stale", "IN_PROGRESS", null, null,
+                        Instant.now().plusSeconds(30), Instant.now(), Instant.now().plusSeconds(60)));
+
+        ResponseEntity<String> response = execute(REQUEST);
+
+        assertThat(response.getBody()).isEqualTo("created");
+        assertThat(executions).hasValue(1);
+        verify(mongoTemplate).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void replaysAResponseCompletedByAnotherInstance() {
+        execute(REQUEST);
+        IdempotencyRecord stored = storedRecord();
+        IdempotencyService other = newService();
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.findById(ID, IdempotencyRecord.class)).thenReturn(stored);
+
+        ResponseEntity<String> replayed = other.execute(USER, KEY, "POST /transactions", REQUEST, String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("created again");
+        });
+
+        assertThat(executions).hasValue(1);
+        assertThat(replayed.getBody()).isEqualTo("created");
+    }
+
+    @Test
+    void rejectsTheSameKeyForADifferentRequest() {
+        execute(REQUEST);
+
+        assertThatThrownBy(() -> execute(Map.of("amount", 11)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void releasesTheClaimWhenTheMutationFails() {
+        assertThatThrownBy(() -> service.execute(USER, KEY, "POST /transactions", REQUEST, String.class, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+    }
+
+    @Test
+    void retriesTheCompletionWriteAfterTheMutationSucceeded() {
+        when(mongoTemplate.save(any(IdempotencyRecord.class)))
+                .thenThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResponseEntity<String> response = execute(REQUEST);
+
+        assertThat(response.getBody()).isEqualTo("created");
+        assertThat(executions).hasValue(1);
+        verify(mongoTemplate, times(2)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void keepsTheResponseWhenTheCompletionWriteFailsUntilTheLockExpires() {
+        ReflectionTestUtils.setField(service, "lockTimeout", Duration.ofMillis(50));
+        when(mongoTemplate.save(any(IdempotencyRecord.class)))
+                .thenThrow(new DataAccessResourceFailureException("unreachable"));
+
+        ResponseEntity<String> response = execute(REQUEST);
+        ResponseEntity<String> replayed = execute(REQUEST);
+
+        assertThat(response.getBody()).isEqualTo("created");
+        assertThat(replayed.getBody()).isEqualTo("created");
+        assertThat(executions).hasValue(1);
+    }
+
+    private IdempotencyRecord storedRecord() {
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(mongoTemplate).save(captor.capture());
+        return captor.getValue();
+    }
+}
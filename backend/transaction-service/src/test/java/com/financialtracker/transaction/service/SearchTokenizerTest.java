@@ -0,0 +1,57 @@
+package com.financialtracker.transaction.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void termsAreLowerCasedWithoutAccents() {
+        assertThat(SearchTokenizer.tokenize("Café CRÈME Brûlée")).containsExactly("cafe", "creme", "brulee");
+    }
+
+    @Test
+    void anythingButLettersAndDigitsSeparatesTerms() {
+        assertThat(SearchTokenizer.tokenize("Uber*Trip #4521 (airport)-rides"))
+                .containsExactly("uber", "trip", "4521", "airport", "rides");
+    }
+
+    @Test
+    void singleCharactersAreDropped() {
+        assertThat(SearchTokenizer.tokenize("a b coffee & tea")).containsExactly("coffee", "tea");
+    }
+
+    @Test
+    void termsAreDistinctAcrossTextsInFirstSeenOrder() {
+        assertThat(SearchTokenizer.tokenize("Rent June", "june rent, paid late"))
+                .containsExactly("rent", "june", "paid", "late");
+    }
+
+    @Test
+    void blankAndMissingTextsAreSkipped() {
+        assertThat(SearchTokenizer.tokenize(null, "  ", "Groceries")).containsExactly("groceries");
+        assertThat(SearchTokenizer.tokenize((String) null)).isEmpty();
+    }
+
+    @Test
+    void longTermsAreCutToTheMaximumLength() {
+        assertThat(SearchTokenizer.tokenize("x".repeat(60))).containsExactly("x".repeat(40));
+    }
+
+    @Test
+    void editDistanceCountsInsertionsDeletionsAndSubstitutions() {
+        assertThat(SearchTokenizer.editDistance("coffee", "coffee", 2)).isZero();
+        assertThat(SearchTokenizer.editDistance("cofee", "coffee", 2)).isEqualTo(1);
+        assertThat(SearchTokenizer.editDistance("coffee", "cofee", 2)).isEqualTo(1);
+        assertThat(SearchTokenizer.editDistance("toffee", "coffee", 2)).isEqualTo(1);
+        assertThat(SearchTokenizer.editDistance("restaurnt", "restaurants", 2)).isEqualTo(2);
+    }
+
+    @Test
+    void editDistanceStopsAtTheBound() {
+        assertThat(SearchTokenizer.editDistance("rent", "rental", 1)).isEqualTo(2);
+        assertThat(SearchTokenizer.editDistance("salary", "grocer", 2)).isEqualTo(3);
+        assertThat(SearchTokenizer.editDistance("salary", "salami", 2)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,183 @@
+package com.financialtracker.transaction.service;
+
+import com.financialtracker.transaction.dto.TransactionDTO;
+import com.financialtracker.transaction.dto.TransactionSearchResult;
+import com.financialtracker.transaction.model.Transaction;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionSearchServiceTest {
+
+    private static final String USER = "user-1";
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 15);
+
+    private MongoTemplate mongoTemplate;
+    private TransactionSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new TransactionSearchService(mongoTemplate);
+        when(mongoTemplate.find(any(Query.class), eq(Transaction.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void textWithoutTermsDoesNotQuery() {
+        TransactionSearchResult result = service.search(USER, " - ! ", false, null, 20);
+
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Transaction.class));
+    }
+
+    @Test
+    void exactTermDrivesTheScanAndTheLastTermMatchesAsAPrefix() {
+        service.search(USER, "Coffee sta", false, null, 20);
+
+        List<Document> clauses = clauses(capturedQuery());
+        assertThat(clauses).contains(new Document("userId", USER), new Document("searchTerms", "coffee"));
+        assertThat(clauses).anySatisfy(clause ->
+                assertThat(String.valueOf(clause.get("searchTerms"))).contains("^sta"));
+        verify(mongoTemplate, never()).findDistinct(any(Query.class), any(), eq(Transaction.class), eq(String.class));
+    }
+
+    @Test
+    void fuzzyTermsExpandWithinAnEditDistanceThatGrowsWithLength() {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("searchTerms"), eq(Transaction.class), eq(String.class)))
+                .thenReturn(List.of("restaurant", "restaurants", "restaurateur", "rent", "taxi"));
+
+        // 9 letters allow two edits, 4 letters one, 3 letters none
+        service.search(USER, "restaurnt rant rnt taxi", true, null, 20);
+
+        List<Document> clauses = clauses(capturedQuery());
+        assertThat(clauses.stream().map(TransactionSearchServiceTest::inTerms).filter(Objects::nonNull))
+                .containsExactlyInAnyOrder(
+                        List.of("restaurant", "restaurants", "restaurnt"),
+                        List.of("rant", "rent"));
+        assertThat(clauses).contains(new Document("searchTerms", "rnt"));
+    }
+
+    @Test
+    void fuzzyLastTermMatchesItsPrefixOrItsExpansion() {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("searchTerms"), eq(Transaction.class), eq(String.class)))
+                .thenReturn(List.of("groceries", "grocery"));
+
+        service.search(USER, "grocry", true, null, 20);
+
+        Document last = clauses(capturedQuery()).get(1);
+        List<Document> alternatives = list(last.get("$or"));
+        assertThat(String.valueOf(alternatives.get(0).get("searchTerms"))).contains("^grocry");
+        assertThat(inTerms(alternatives.get(1))).containsExactly("grocery", "grocry");
+    }
+
+    @Test
+    void fullPageHandsOutTheCursorOfItsLastRow() {
+        ObjectId newer = new ObjectId();
+        ObjectId older = new ObjectId();
+        ObjectId extra = new ObjectId();
+        when(mongoTemplate.find(any(Query.class), eq(Transaction.class))).thenReturn(List.of(
+                transaction(newer, DAY), transaction(older, DAY), transaction(extra, DAY.minusDays(1))));
+
+        TransactionSearchResult result = service.search(USER, "rent", false, null, 2);
+
+        assertThat(capturedQuery().getLimit()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(TransactionDTO::getId)
+                .containsExactly(newer.toHexString(), older.toHexString());
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(DAY + "_" + older.toHexString());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(mongoTemplate.find(any(Query.class), eq(Transaction.class)))
+                .thenReturn(List.of(transaction(new ObjectId(), DAY)));
+
+        TransactionSearchResult result = service.search(USER, "rent", false, null, 2);
+
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorResumesAfterEarlierDaysAndAfterLowerIdsOnTheSameDay() {
+        ObjectId boundary = new ObjectId();
+
+        service.search(USER, "rent", false, DAY + "_" + boundary.toHexString(), 2);
+
+        List<Document> clauses = clauses(capturedQuery());
+        Document after = clauses.get(clauses.size() - 1);
+        List<Document> alternatives = list(after.get("$or"));
+        assertThat(alternatives.get(0)).isEqualTo(new Document("date", new Document("$lt", DAY)));
+        assertThat(list(alternatives.get(1).get("$and"))).containsExactly(
+                new Document("date", DAY),
+                new Document("_id", new Document("$lt", boundary)));
+        assertThat(capturedQuery().getSortObject())
+                .isEqualTo(new Document("date", -1).append("_id", -1));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        for (String cursor : List.of("not-a-cursor", "2024-06-15_nope", "yesterday_" + new ObjectId().toHexString())) {
+            assertThatThrownBy(() -> service.search(USER, "rent", false, cursor, 2))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    private Query capturedQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Transaction.class));
+        return query.getValue();
+    }
+
+    private static List<Document> clauses(Query query) {
+        return list(query.getQueryObject().get("$and"));
+    }
+
+    /**
+     * The terms of a {@code searchTerms: {$in: [...]}} clause, or null for any other clause.
+     */
+    private static List<String> inTerms(Document clause) {
+        if (!(clause.get("searchTerms") instanceof Document condition) || !condition.containsKey("$in")) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        ((Collection<?>) condition.get("$in")).forEach(term -> terms.add((String) term));
+        return terms;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Document> list(Object clauses) {
+        return (List<Document>) clauses;
+    }
+
+    private static Transaction transaction(ObjectId id, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id.toHexString());
+        transaction.setUserId(USER);
+        transaction.setDate(date);
+        return transaction;
+    }
+}